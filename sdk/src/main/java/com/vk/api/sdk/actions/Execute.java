@@ -5,9 +5,11 @@ import com.vk.api.sdk.client.AbstractQueryBuilder;
 import com.vk.api.sdk.client.VkApiClient;
 import com.vk.api.sdk.client.actors.GroupActor;
 import com.vk.api.sdk.client.actors.UserActor;
+import com.vk.api.sdk.queries.execute.BatchResult;
 import com.vk.api.sdk.queries.execute.ExecuteBatchQuery;
 import com.vk.api.sdk.queries.execute.ExecuteCodeQuery;
 import com.vk.api.sdk.queries.execute.ExecuteStorageFunctionQuery;
+import com.vk.api.sdk.queries.execute.ExecuteTemplate;
 
 import java.util.List;
 
@@ -50,20 +52,58 @@ public class Execute extends AbstractAction {
         return new ExecuteStorageFunctionQuery(getClient(), actor, storageFunctionName);
     }
 
-    public ExecuteBatchQuery batch(UserActor actor, AbstractQueryBuilder... request) {
+    public ExecuteBatchQuery batch(UserActor actor, AbstractQueryBuilder<?, ?>... request) {
         return new ExecuteBatchQuery(getClient(), actor, request);
     }
 
 
-    public ExecuteBatchQuery batch(GroupActor actor, AbstractQueryBuilder... request) {
+    public ExecuteBatchQuery batch(GroupActor actor, AbstractQueryBuilder<?, ?>... request) {
         return new ExecuteBatchQuery(getClient(), actor, request);
     }
 
+    /**
+     * @deprecated use {@link #batchAll(UserActor, List)}, which takes lists of typed requests
+     */
+    @Deprecated
+    @SuppressWarnings("rawtypes")
     public ExecuteBatchQuery batch(UserActor actor, List<AbstractQueryBuilder> requests) {
-        return new ExecuteBatchQuery(getClient(), actor, requests.toArray(new AbstractQueryBuilder[requests.size()]));
+        return new ExecuteBatchQuery(getClient(), actor, requests.toArray(new AbstractQueryBuilder<?, ?>[requests.size()]));
     }
 
+    /**
+     * @deprecated use {@link #batchAll(GroupActor, List)}, which takes lists of typed requests
+     */
+    @Deprecated
+    @SuppressWarnings("rawtypes")
     public ExecuteBatchQuery batch(GroupActor actor, List<AbstractQueryBuilder> requests) {
-        return new ExecuteBatchQuery(getClient(), actor, requests.toArray(new AbstractQueryBuilder[requests.size()]));
+        return new ExecuteBatchQuery(getClient(), actor, requests.toArray(new AbstractQueryBuilder<?, ?>[requests.size()]));
+    }
+
+    /**
+     * Execute batch of requests of the list, e.g. failed requests of {@link BatchResult#getFailedRequests()}
+     */
+    public ExecuteBatchQuery batchAll(UserActor actor, List<? extends AbstractQueryBuilder<?, ?>> requests) {
+        return new ExecuteBatchQuery(getClient(), actor, requests.toArray(new AbstractQueryBuilder<?, ?>[requests.size()]));
+    }
+
+    /**
+     * Execute batch of requests of the list, e.g. failed requests of {@link BatchResult#getFailedRequests()}
+     */
+    public ExecuteBatchQuery batchAll(GroupActor actor, List<? extends AbstractQueryBuilder<?, ?>> requests) {
+        return new ExecuteBatchQuery(getClient(), actor, requests.toArray(new AbstractQueryBuilder<?, ?>[requests.size()]));
+    }
+
+    /**
+     * Execute batch with precompiled code
+     */
+    public ExecuteBatchQuery batch(UserActor actor, ExecuteTemplate template, AbstractQueryBuilder<?, ?>... request) {
+        return new ExecuteBatchQuery(getClient(), actor, template, request);
+    }
+
+    /**
+     * Execute batch with precompiled code
+     */
+    public ExecuteBatchQuery batch(GroupActor actor, ExecuteTemplate template, AbstractQueryBuilder<?, ?>... request) {
+        return new ExecuteBatchQuery(getClient(), actor, template, request);
     }
 }
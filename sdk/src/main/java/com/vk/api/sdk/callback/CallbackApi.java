@@ -1,9 +1,13 @@
 package com.vk.api.sdk.callback;
 
 import com.google.gson.Gson;
+import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
-import com.google.gson.reflect.TypeToken;
-import com.vk.api.sdk.objects.callback.messages.CallbackMessage;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.vk.api.sdk.client.GsonHolder;
 import com.vk.api.sdk.objects.audio.Audio;
 import com.vk.api.sdk.objects.board.TopicComment;
 import com.vk.api.sdk.objects.callback.*;
@@ -16,10 +20,16 @@ import com.vk.api.sdk.queries.oauth.OAuthQueryBuilder;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-import java.lang.reflect.Type;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Created by Anton Tsivarev on 12.09.16.
@@ -67,103 +77,89 @@ public class CallbackApi {
     private static final String CALLBACK_EVENT_USER_BLOCK = "user_block";
     private static final String CALLBACK_EVENT_USER_UNBLOCK = "user_unblock";
     private static final String CALLBACK_EVENT_CONFIRMATION = "confirmation";
-    private final static Map<String, Type> CALLBACK_TYPES;
+    private static final Map<String, Event<?>> EVENTS;
+
+    /**
+     * Types of events with handler methods overridden by subclass
+     */
+    private static final ClassValue<Set<String>> HANDLED_EVENTS = new ClassValue<Set<String>>() {
+        @Override
+        protected Set<String> computeValue(Class<?> type) {
+            Set<String> events = new HashSet<>();
+            for (Map.Entry<String, Event<?>> entry : EVENTS.entrySet()) {
+                if (entry.getValue().isOverriddenBy(type)) {
+                    events.add(entry.getKey());
+                }
+            }
+
+            return Collections.unmodifiableSet(events);
+        }
+    };
 
     static {
-        Map<String, Type> types = new HashMap<>();
-        types.put(CALLBACK_EVENT_MESSAGE_NEW, new TypeToken<CallbackMessage<Message>>() {
-        }.getType());
-        types.put(CALLBACK_EVENT_MESSAGE_REPLY, new TypeToken<CallbackMessage<Message>>() {
-        }.getType());
-        types.put(CALLBACK_EVENT_MESSAGE_EDIT, new TypeToken<CallbackMessage<Message>>() {
-        }.getType());
-        types.put(CALLBACK_EVENT_MESSAGE_ALLOW, new TypeToken<CallbackMessage<MessageAllow>>() {
-        }.getType());
-        types.put(CALLBACK_EVENT_MESSAGE_DENY, new TypeToken<CallbackMessage<MessageDeny>>() {
-        }.getType());
-
-        types.put(CALLBACK_EVENT_PHOTO_NEW, new TypeToken<CallbackMessage<Photo>>() {
-        }.getType());
-        types.put(CALLBACK_EVENT_PHOTO_COMMENT_NEW, new TypeToken<CallbackMessage<PhotoComment>>() {
-        }.getType());
-        types.put(CALLBACK_EVENT_PHOTO_COMMENT_EDIT, new TypeToken<CallbackMessage<PhotoComment>>() {
-        }.getType());
-        types.put(CALLBACK_EVENT_PHOTO_COMMENT_RESTORE, new TypeToken<CallbackMessage<PhotoComment>>() {
-        }.getType());
-        types.put(CALLBACK_EVENT_PHOTO_COMMENT_DELETE, new TypeToken<CallbackMessage<PhotoCommentDelete>>() {
-        }.getType());
-
-        types.put(CALLBACK_EVENT_AUDIO_NEW, new TypeToken<CallbackMessage<Audio>>() {
-        }.getType());
-
-        types.put(CALLBACK_EVENT_VIDEO_NEW, new TypeToken<CallbackMessage<Video>>() {
-        }.getType());
-        types.put(CALLBACK_EVENT_VIDEO_COMMENT_NEW, new TypeToken<CallbackMessage<VideoComment>>() {
-        }.getType());
-        types.put(CALLBACK_EVENT_VIDEO_COMMENT_EDIT, new TypeToken<CallbackMessage<VideoComment>>() {
-        }.getType());
-        types.put(CALLBACK_EVENT_VIDEO_COMMENT_RESTORE, new TypeToken<CallbackMessage<VideoComment>>() {
-        }.getType());
-        types.put(CALLBACK_EVENT_VIDEO_COMMENT_DELETE, new TypeToken<CallbackMessage<VideoCommentDelete>>() {
-        }.getType());
-
-        types.put(CALLBACK_EVENT_WALL_POST_NEW, new TypeToken<CallbackMessage<Wallpost>>() {
-        }.getType());
-        types.put(CALLBACK_EVENT_WALL_REPOST, new TypeToken<CallbackMessage<Wallpost>>() {
-        }.getType());
-
-        types.put(CALLBACK_EVENT_WALL_REPLY_NEW, new TypeToken<CallbackMessage<WallComment>>() {
-        }.getType());
-        types.put(CALLBACK_EVENT_WALL_REPLY_EDIT, new TypeToken<CallbackMessage<WallComment>>() {
-        }.getType());
-        types.put(CALLBACK_EVENT_WALL_REPLY_RESTORE, new TypeToken<CallbackMessage<WallComment>>() {
-        }.getType());
-        types.put(CALLBACK_EVENT_WALL_REPLY_DELETE, new TypeToken<CallbackMessage<WallCommentDelete>>() {
-        }.getType());
-
-        types.put(CALLBACK_EVENT_BOARD_POST_NEW, new TypeToken<CallbackMessage<TopicComment>>() {
-        }.getType());
-        types.put(CALLBACK_EVENT_BOARD_POST_EDIT, new TypeToken<CallbackMessage<TopicComment>>() {
-        }.getType());
-        types.put(CALLBACK_EVENT_BOARD_POST_RESTORE, new TypeToken<CallbackMessage<TopicComment>>() {
-        }.getType());
-        types.put(CALLBACK_EVENT_BOARD_POST_DELETE, new TypeToken<CallbackMessage<BoardPostDelete>>() {
-        }.getType());
-
-        types.put(CALLBACK_EVENT_MARKET_COMMENT_NEW, new TypeToken<CallbackMessage<MarketComment>>() {
-        }.getType());
-        types.put(CALLBACK_EVENT_MARKET_COMMENT_EDIT, new TypeToken<CallbackMessage<MarketComment>>() {
-        }.getType());
-        types.put(CALLBACK_EVENT_MARKET_COMMENT_RESTORE, new TypeToken<CallbackMessage<MarketComment>>() {
-        }.getType());
-        types.put(CALLBACK_EVENT_MARKET_COMMENT_DELETE, new TypeToken<CallbackMessage<MarketCommentDelete>>() {
-        }.getType());
-
-        types.put(CALLBACK_EVENT_GROUP_LEAVE, new TypeToken<CallbackMessage<GroupLeave>>() {
-        }.getType());
-        types.put(CALLBACK_EVENT_GROUP_JOIN, new TypeToken<CallbackMessage<GroupJoin>>() {
-        }.getType());
-        types.put(CALLBACK_EVENT_GROUP_CHANGE_SETTINGS, new TypeToken<CallbackMessage<GroupChangeSettings>>() {
-        }.getType());
-        types.put(CALLBACK_EVENT_GROUP_CHANGE_PHOTO, new TypeToken<CallbackMessage<GroupChangePhoto>>() {
-        }.getType());
-        types.put(CALLBACK_EVENT_GROUP_OFFICERS_EDIT, new TypeToken<CallbackMessage<GroupOfficersEdit>>() {
-        }.getType());
-        types.put(CALLBACK_EVENT_USER_BLOCK, new TypeToken<CallbackMessage<UserBlock>>() {
-        }.getType());
-        types.put(CALLBACK_EVENT_USER_UNBLOCK, new TypeToken<CallbackMessage<UserUnblock>>() {
-        }.getType());
-
-        types.put(CALLBACK_EVENT_POLL_VOTE_NEW, new TypeToken<CallbackMessage<PollVoteNew>>() {
-        }.getType());
-
-        CALLBACK_TYPES = Collections.unmodifiableMap(types);
+        Map<String, Event<?>> events = new HashMap<>();
+        events.put(CALLBACK_EVENT_MESSAGE_NEW, new Event<>("messageNew", Message.class, CallbackApi::messageNew));
+        events.put(CALLBACK_EVENT_MESSAGE_REPLY, new Event<>("messageReply", Message.class, CallbackApi::messageReply));
+        events.put(CALLBACK_EVENT_MESSAGE_EDIT, new Event<>("messageEdit", Message.class, CallbackApi::messageEdit));
+        events.put(CALLBACK_EVENT_MESSAGE_ALLOW, new Event<>("messageAllow", MessageAllow.class, CallbackApi::messageAllow));
+        events.put(CALLBACK_EVENT_MESSAGE_DENY, new Event<>("messageDeny", MessageDeny.class, CallbackApi::messageDeny));
+        events.put(CALLBACK_EVENT_PHOTO_NEW, new Event<>("photoNew", Photo.class, CallbackApi::photoNew));
+        events.put(CALLBACK_EVENT_PHOTO_COMMENT_NEW, new Event<>("photoCommentNew", PhotoComment.class, CallbackApi::photoCommentNew));
+        events.put(CALLBACK_EVENT_PHOTO_COMMENT_EDIT, new Event<>("photoCommentEdit", PhotoComment.class, CallbackApi::photoCommentEdit));
+        events.put(CALLBACK_EVENT_PHOTO_COMMENT_RESTORE, new Event<>("photoCommentRestore", PhotoComment.class, CallbackApi::photoCommentRestore));
+        events.put(CALLBACK_EVENT_PHOTO_COMMENT_DELETE, new Event<>("photoCommentDelete", PhotoCommentDelete.class, CallbackApi::photoCommentDelete));
+        events.put(CALLBACK_EVENT_AUDIO_NEW, new Event<>("audioNew", Audio.class, CallbackApi::audioNew));
+        events.put(CALLBACK_EVENT_VIDEO_NEW, new Event<>("videoNew", Video.class, CallbackApi::videoNew));
+        events.put(CALLBACK_EVENT_VIDEO_COMMENT_NEW, new Event<>("videoCommentNew", VideoComment.class, CallbackApi::videoCommentNew));
+        events.put(CALLBACK_EVENT_VIDEO_COMMENT_EDIT, new Event<>("videoCommentEdit", VideoComment.class, CallbackApi::videoCommentEdit));
+        events.put(CALLBACK_EVENT_VIDEO_COMMENT_RESTORE, new Event<>("videoCommentRestore", VideoComment.class, CallbackApi::videoCommentRestore));
+        events.put(CALLBACK_EVENT_VIDEO_COMMENT_DELETE, new Event<>("videoCommentDelete", VideoCommentDelete.class, CallbackApi::videoCommentDelete));
+        events.put(CALLBACK_EVENT_WALL_POST_NEW, new Event<>("wallPostNew", Wallpost.class, CallbackApi::wallPostNew));
+        events.put(CALLBACK_EVENT_WALL_REPOST, new Event<>("wallRepost", Wallpost.class, CallbackApi::wallRepost));
+        events.put(CALLBACK_EVENT_WALL_REPLY_NEW, new Event<>("wallReplyNew", WallComment.class, CallbackApi::wallReplyNew));
+        events.put(CALLBACK_EVENT_WALL_REPLY_EDIT, new Event<>("wallReplyEdit", WallComment.class, CallbackApi::wallReplyEdit));
+        events.put(CALLBACK_EVENT_WALL_REPLY_RESTORE, new Event<>("wallReplyRestore", WallComment.class, CallbackApi::wallReplyRestore));
+        events.put(CALLBACK_EVENT_WALL_REPLY_DELETE, new Event<>("wallReplyDelete", WallCommentDelete.class, CallbackApi::wallReplyDelete));
+        events.put(CALLBACK_EVENT_BOARD_POST_NEW, new Event<>("boardPostNew", TopicComment.class, CallbackApi::boardPostNew));
+        events.put(CALLBACK_EVENT_BOARD_POST_EDIT, new Event<>("boardPostEdit", TopicComment.class, CallbackApi::boardPostEdit));
+        events.put(CALLBACK_EVENT_BOARD_POST_RESTORE, new Event<>("boardPostRestore", TopicComment.class, CallbackApi::boardPostRestore));
+        events.put(CALLBACK_EVENT_BOARD_POST_DELETE, new Event<>("boardPostDelete", BoardPostDelete.class, CallbackApi::boardPostDelete));
+        events.put(CALLBACK_EVENT_MARKET_COMMENT_NEW, new Event<>("marketCommentNew", MarketComment.class, CallbackApi::marketCommentNew));
+        events.put(CALLBACK_EVENT_MARKET_COMMENT_EDIT, new Event<>("marketCommentEdit", MarketComment.class, CallbackApi::marketCommentEdit));
+        events.put(CALLBACK_EVENT_MARKET_COMMENT_RESTORE, new Event<>("marketCommentRestore", MarketComment.class, CallbackApi::marketCommentRestore));
+        events.put(CALLBACK_EVENT_MARKET_COMMENT_DELETE, new Event<>("marketCommentDelete", MarketCommentDelete.class, CallbackApi::marketCommentDelete));
+        events.put(CALLBACK_EVENT_GROUP_LEAVE, new Event<>("groupLeave", GroupLeave.class, CallbackApi::groupLeave));
+        events.put(CALLBACK_EVENT_GROUP_JOIN, new Event<>("groupJoin", GroupJoin.class, CallbackApi::groupJoin));
+        events.put(CALLBACK_EVENT_GROUP_CHANGE_SETTINGS, new Event<>("groupChangeSettings", GroupChangeSettings.class, CallbackApi::groupChangeSettings));
+        events.put(CALLBACK_EVENT_GROUP_CHANGE_PHOTO, new Event<>("groupChangePhoto", GroupChangePhoto.class, CallbackApi::groupChangePhoto));
+        events.put(CALLBACK_EVENT_GROUP_OFFICERS_EDIT, new Event<>("groupOfficersEdit", GroupOfficersEdit.class, CallbackApi::groupOfficersEdit));
+        events.put(CALLBACK_EVENT_USER_BLOCK, new Event<>("userBlock", UserBlock.class, CallbackApi::userBlock));
+        events.put(CALLBACK_EVENT_USER_UNBLOCK, new Event<>("userUnblock", UserUnblock.class, CallbackApi::userUnblock));
+        events.put(CALLBACK_EVENT_POLL_VOTE_NEW, new Event<>("pollVoteNew", PollVoteNew.class, CallbackApi::pollVoteNew));
+
+        EVENTS = Collections.unmodifiableMap(events);
     }
 
     private final Gson gson;
 
+    private final Set<String> handledEvents;
+
+    private EventDeduplicator deduplicator;
+
     public CallbackApi() {
-        gson = new Gson();
+        gson = GsonHolder.getGson();
+        handledEvents = HANDLED_EVENTS.get(getClass());
+    }
+
+    /**
+     * Drop events seen recently before decoding them
+     *
+     * @param deduplicator events deduplicator
+     * @return a reference to this {@code CallbackApi} object
+     */
+    public CallbackApi deduplicator(EventDeduplicator deduplicator) {
+        this.deduplicator = deduplicator;
+        return this;
     }
 
     public void messageNew(Integer groupId, Message message) {
@@ -445,181 +441,181 @@ public class CallbackApi {
         return parse(jsonObject);
     }
 
+    /**
+     * Parse and handle event from request body without building intermediate json tree
+     *
+     * @param body UTF-8 request body
+     * @return false if the event type is not supported
+     */
+    public boolean parse(byte[] body) {
+        return parse(body, 0, body.length);
+    }
+
+    /**
+     * Parse and handle event from request body without building intermediate json tree
+     *
+     * @param body UTF-8 request body
+     * @return false if the event type is not supported
+     */
+    public boolean parse(ByteBuffer body) {
+        if (body.hasArray()) {
+            return parse(body.array(), body.arrayOffset() + body.position(), body.remaining());
+        }
+
+        byte[] bytes = new byte[body.remaining()];
+        body.duplicate().get(bytes);
+        return parse(bytes);
+    }
+
+    private boolean parse(byte[] body, int offset, int length) {
+        if (deduplicator != null && !deduplicator.add(body, offset, length)) {
+            LOG.debug("Duplicate callback event dropped");
+            return true;
+        }
+
+        JsonReader reader = new JsonReader(new InputStreamReader(new ByteArrayInputStream(body, offset, length), StandardCharsets.UTF_8));
+        try {
+            String type = null;
+            Integer groupId = null;
+            String secret = null;
+            JsonElement objectTree = null;
+            Object object = null;
+
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String name = reader.nextName();
+                if (reader.peek() == JsonToken.NULL) {
+                    reader.skipValue();
+                    continue;
+                }
+
+                switch (name) {
+                    case "type":
+                        type = reader.nextString();
+                        break;
+                    case "group_id":
+                        groupId = reader.nextInt();
+                        break;
+                    case "secret":
+                        secret = reader.nextString();
+                        break;
+                    case "object":
+                        if (type == null) {
+                            objectTree = new JsonParser().parse(reader);
+                        } else {
+                            Event<?> event = EVENTS.get(type);
+                            if (event != null && handledEvents.contains(type)) {
+                                object = event.read(gson, reader);
+                            } else {
+                                reader.skipValue();
+                            }
+                        }
+                        break;
+                    default:
+                        reader.skipValue();
+                }
+            }
+
+            reader.endObject();
+
+            if (type == null) {
+                throw new JsonSyntaxException("No event type");
+            }
+
+            return handle(type, groupId, secret, objectTree, object);
+        } catch (IOException | IllegalStateException | NumberFormatException e) {
+            throw new JsonSyntaxException(e);
+        }
+    }
+
     public boolean parse(JsonObject json) {
+        if (deduplicator != null && !deduplicator.add(json)) {
+            LOG.debug("Duplicate callback event dropped");
+            return true;
+        }
+
         String type = json.get("type").getAsString();
+        JsonElement groupId = json.get("group_id");
+        JsonElement secret = json.get("secret");
+        return handle(type, groupId != null && !groupId.isJsonNull() ? groupId.getAsInt() : null,
+                secret != null && !secret.isJsonNull() ? secret.getAsString() : null, json.get("object"), null);
+    }
+
+    /**
+     * Call handler of the event. The event object is decoded only if the handler is overridden.
+     *
+     * @param type    event type
+     * @param groupId community id
+     * @param secret  secret key
+     * @param object  event object as json tree
+     * @param decoded event object if already decoded from stream
+     * @return false if the event type is not supported
+     */
+    private boolean handle(String type, Integer groupId, String secret, JsonElement object, Object decoded) {
         if (type.equalsIgnoreCase(CALLBACK_EVENT_CONFIRMATION)) {
-            ConfirmationMessage message = gson.fromJson(json, ConfirmationMessage.class);
-            confirmation(message.getGroupId(), message.getSecret());
+            confirmation(groupId, secret);
             return true;
         }
 
-        Type typeOfClass = CALLBACK_TYPES.get(type);
-        if (typeOfClass == null) {
+        Event<?> event = EVENTS.get(type);
+        if (event == null) {
             LOG.warn("Unsupported callback event", type);
             return false;
         }
 
-        CallbackMessage message = gson.fromJson(json, typeOfClass);
-
-        switch (type) {
-            case CALLBACK_EVENT_MESSAGE_NEW:
-                messageNew(message.getGroupId(), message.getSecret(), (Message) message.getObject());
-                break;
-
-            case CALLBACK_EVENT_MESSAGE_REPLY:
-                messageReply(message.getGroupId(), message.getSecret(), (Message) message.getObject());
-                break;
-
-            case CALLBACK_EVENT_MESSAGE_EDIT:
-                messageEdit(message.getGroupId(), message.getSecret(), (Message) message.getObject());
-                break;
-
-            case CALLBACK_EVENT_MESSAGE_ALLOW:
-                messageAllow(message.getGroupId(), message.getSecret(), (MessageAllow) message.getObject());
-                break;
-
-            case CALLBACK_EVENT_MESSAGE_DENY:
-                messageDeny(message.getGroupId(), message.getSecret(), (MessageDeny) message.getObject());
-                break;
-
-            case CALLBACK_EVENT_PHOTO_NEW:
-                photoNew(message.getGroupId(), message.getSecret(), (Photo) message.getObject());
-                break;
-
-            case CALLBACK_EVENT_PHOTO_COMMENT_NEW:
-                photoCommentNew(message.getGroupId(), message.getSecret(), (PhotoComment) message.getObject());
-                break;
-
-            case CALLBACK_EVENT_PHOTO_COMMENT_EDIT:
-                photoCommentEdit(message.getGroupId(), message.getSecret(), (PhotoComment) message.getObject());
-                break;
-
-            case CALLBACK_EVENT_PHOTO_COMMENT_RESTORE:
-                photoCommentRestore(message.getGroupId(), message.getSecret(), (PhotoComment) message.getObject());
-                break;
-
-            case CALLBACK_EVENT_PHOTO_COMMENT_DELETE:
-                photoCommentDelete(message.getGroupId(), message.getSecret(), (PhotoCommentDelete) message.getObject());
-                break;
-
-            case CALLBACK_EVENT_AUDIO_NEW:
-                audioNew(message.getGroupId(), message.getSecret(), (Audio) message.getObject());
-                break;
-
-            case CALLBACK_EVENT_VIDEO_NEW:
-                videoNew(message.getGroupId(), message.getSecret(), (Video) message.getObject());
-                break;
-
-            case CALLBACK_EVENT_VIDEO_COMMENT_NEW:
-                videoCommentNew(message.getGroupId(), message.getSecret(), (VideoComment) message.getObject());
-                break;
-
-            case CALLBACK_EVENT_VIDEO_COMMENT_EDIT:
-                videoCommentEdit(message.getGroupId(), message.getSecret(), (VideoComment) message.getObject());
-                break;
-
-            case CALLBACK_EVENT_VIDEO_COMMENT_RESTORE:
-                videoCommentRestore(message.getGroupId(), message.getSecret(), (VideoComment) message.getObject());
-                break;
-
-            case CALLBACK_EVENT_VIDEO_COMMENT_DELETE:
-                videoCommentDelete(message.getGroupId(), message.getSecret(), (VideoCommentDelete) message.getObject());
-                break;
-
-            case CALLBACK_EVENT_WALL_POST_NEW:
-                wallPostNew(message.getGroupId(), message.getSecret(), (Wallpost) message.getObject());
-                break;
-
-            case CALLBACK_EVENT_WALL_REPOST:
-                wallRepost(message.getGroupId(), message.getSecret(), (Wallpost) message.getObject());
-                break;
-
-            case CALLBACK_EVENT_WALL_REPLY_NEW:
-                wallReplyNew(message.getGroupId(), message.getSecret(), (WallComment) message.getObject());
-                break;
-
-            case CALLBACK_EVENT_WALL_REPLY_EDIT:
-                wallReplyEdit(message.getGroupId(), message.getSecret(), (WallComment) message.getObject());
-                break;
-
-            case CALLBACK_EVENT_WALL_REPLY_RESTORE:
-                wallReplyRestore(message.getGroupId(), message.getSecret(), (WallComment) message.getObject());
-                break;
-
-            case CALLBACK_EVENT_WALL_REPLY_DELETE:
-                wallReplyDelete(message.getGroupId(), message.getSecret(), (WallCommentDelete) message.getObject());
-                break;
-
-            case CALLBACK_EVENT_BOARD_POST_NEW:
-                boardPostNew(message.getGroupId(), message.getSecret(), (TopicComment) message.getObject());
-                break;
-
-            case CALLBACK_EVENT_BOARD_POST_EDIT:
-                boardPostEdit(message.getGroupId(), message.getSecret(), (TopicComment) message.getObject());
-                break;
-
-            case CALLBACK_EVENT_BOARD_POST_RESTORE:
-                boardPostRestore(message.getGroupId(), message.getSecret(), (TopicComment) message.getObject());
-                break;
-
-            case CALLBACK_EVENT_BOARD_POST_DELETE:
-                boardPostDelete(message.getGroupId(), message.getSecret(), (BoardPostDelete) message.getObject());
-                break;
-
-            case CALLBACK_EVENT_MARKET_COMMENT_NEW:
-                marketCommentNew(message.getGroupId(), message.getSecret(), (MarketComment) message.getObject());
-                break;
-
-            case CALLBACK_EVENT_MARKET_COMMENT_EDIT:
-                marketCommentEdit(message.getGroupId(), message.getSecret(), (MarketComment) message.getObject());
-                break;
-
-            case CALLBACK_EVENT_MARKET_COMMENT_RESTORE:
-                marketCommentRestore(message.getGroupId(), message.getSecret(), (MarketComment) message.getObject());
-                break;
+        if (handledEvents.contains(type)) {
+            if (decoded != null) {
+                event.handleObject(this, groupId, secret, decoded);
+            } else {
+                event.handle(this, gson, groupId, secret, object);
+            }
+        }
 
-            case CALLBACK_EVENT_MARKET_COMMENT_DELETE:
-                marketCommentDelete(message.getGroupId(), message.getSecret(), (MarketCommentDelete) message.getObject());
-                break;
+        return true;
+    }
 
-            case CALLBACK_EVENT_GROUP_LEAVE:
-                groupLeave(message.getGroupId(), message.getSecret(), (GroupLeave) message.getObject());
-                break;
+    @FunctionalInterface
+    private interface EventHandler<T> {
 
-            case CALLBACK_EVENT_GROUP_JOIN:
-                groupJoin(message.getGroupId(), message.getSecret(), (GroupJoin) message.getObject());
-                break;
+        void handle(CallbackApi api, Integer groupId, String secret, T object);
+    }
 
-            case CALLBACK_EVENT_GROUP_CHANGE_SETTINGS:
-                groupChangeSettings(message.getGroupId(), message.getSecret(), (GroupChangeSettings) message.getObject());
-                break;
+    /**
+     * Handler method and object type of callback event
+     */
+    private static final class Event<T> {
 
-            case CALLBACK_EVENT_GROUP_CHANGE_PHOTO:
-                groupChangePhoto(message.getGroupId(), message.getSecret(), (GroupChangePhoto) message.getObject());
-                break;
+        private final String method;
 
-            case CALLBACK_EVENT_GROUP_OFFICERS_EDIT:
-                groupOfficersEdit(message.getGroupId(), message.getSecret(), (GroupOfficersEdit) message.getObject());
-                break;
+        private final Class<T> objectClass;
 
-            case CALLBACK_EVENT_USER_BLOCK:
-                userBlock(message.getGroupId(), message.getSecret(), (UserBlock) message.getObject());
-                break;
+        private final EventHandler<T> handler;
 
-            case CALLBACK_EVENT_USER_UNBLOCK:
-                userUnblock(message.getGroupId(), message.getSecret(), (UserUnblock) message.getObject());
-                break;
+        Event(String method, Class<T> objectClass, EventHandler<T> handler) {
+            this.method = method;
+            this.objectClass = objectClass;
+            this.handler = handler;
+        }
 
-            case CALLBACK_EVENT_POLL_VOTE_NEW:
-                pollVoteNew(message.getGroupId(), message.getSecret(), (PollVoteNew) message.getObject());
-                break;
+        void handle(CallbackApi api, Gson gson, Integer groupId, String secret, JsonElement object) {
+            handler.handle(api, groupId, secret, gson.fromJson(object, objectClass));
+        }
 
-            default:
-                LOG.warn("Unsupported callback event", type);
-                return false;
+        void handleObject(CallbackApi api, Integer groupId, String secret, Object object) {
+            handler.handle(api, groupId, secret, objectClass.cast(object));
+        }
 
+        T read(Gson gson, JsonReader reader) throws IOException {
+            return gson.getAdapter(objectClass).read(reader);
         }
 
-        return true;
+        boolean isOverriddenBy(Class<?> type) {
+            try {
+                return type.getMethod(method, Integer.class, objectClass).getDeclaringClass() != CallbackApi.class
+                        || type.getMethod(method, Integer.class, String.class, objectClass).getDeclaringClass() != CallbackApi.class;
+            } catch (NoSuchMethodException e) {
+                return true;
+            }
+        }
     }
 }
@@ -0,0 +1,393 @@
+package com.vk.api.sdk.callback;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Lightweight HTTP server receiving Callback API events. Confirmation requests are answered with the
+ * confirmation code, other events are acknowledged right after the secret check and handled on the executor,
+ * so slow handlers don't make VK resend events. Events rejected by the executor are answered with 503,
+ * so VK delivers them again later.
+ */
+public class CallbackServer implements Closeable {
+
+    private static final Logger LOG = LogManager.getLogger(CallbackServer.class);
+
+    private static final String CONFIRMATION_TYPE = "confirmation";
+
+    private static final byte[] OK_BODY = "ok".getBytes(StandardCharsets.UTF_8);
+
+    private final CallbackApi callbackApi;
+
+    private final String confirmationCode;
+
+    private final String secret;
+
+    private final Executor executor;
+
+    private final int maxBodySize;
+
+    private final HttpServer server;
+
+    /**
+     * Executors created by the server itself, shut down on close
+     */
+    private final ExecutorService ownHandlerExecutor;
+
+    private final ExecutorService ownRequestExecutor;
+
+    private CallbackServer(Builder builder) throws IOException {
+        this.callbackApi = builder.callbackApi;
+        this.confirmationCode = builder.confirmationCode;
+        this.secret = builder.secret;
+        this.maxBodySize = builder.maxBodySize;
+
+        if (builder.executor != null) {
+            this.executor = builder.executor;
+            this.ownHandlerExecutor = null;
+        } else {
+            this.ownHandlerExecutor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(builder.queueCapacity), runnable -> {
+                Thread thread = new Thread(runnable, "Callback handler");
+                thread.setDaemon(true);
+                return thread;
+            });
+            this.executor = ownHandlerExecutor;
+        }
+
+        Executor requestExecutor;
+        if (builder.requestExecutor != null) {
+            requestExecutor = builder.requestExecutor;
+            this.ownRequestExecutor = null;
+        } else {
+            AtomicInteger threads = new AtomicInteger();
+            this.ownRequestExecutor = Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable, "Callback server " + threads.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+            requestExecutor = ownRequestExecutor;
+        }
+
+        this.server = HttpServer.create(builder.address, builder.backlog);
+        this.server.createContext(builder.path, this::handle);
+        this.server.setExecutor(requestExecutor);
+    }
+
+    public static Builder newBuilder(CallbackApi callbackApi) {
+        return new Builder(callbackApi);
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    public InetSocketAddress getAddress() {
+        return server.getAddress();
+    }
+
+    /**
+     * Stop accepting requests. Events already acknowledged are still handled by the executor.
+     */
+    @Override
+    public void close() {
+        server.stop(0);
+        if (ownRequestExecutor != null) {
+            ownRequestExecutor.shutdown();
+        }
+
+        if (ownHandlerExecutor != null) {
+            ownHandlerExecutor.shutdown();
+        }
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            if (!"POST".equalsIgnoreCase(exchange.getRequestMethod())) {
+                respond(exchange, 405, new byte[0]);
+                return;
+            }
+
+            byte[] body = readBody(exchange.getRequestBody());
+            if (body == null) {
+                respond(exchange, 413, new byte[0]);
+                return;
+            }
+
+            Envelope envelope;
+            try {
+                envelope = readEnvelope(body);
+            } catch (IOException | IllegalStateException | NumberFormatException e) {
+                LOG.warn("Invalid callback request: " + new String(body, StandardCharsets.UTF_8), e);
+                respond(exchange, 400, new byte[0]);
+                return;
+            }
+
+            if (secret != null && !secret.equals(envelope.secret)) {
+                LOG.warn("Callback request with wrong secret from group " + envelope.groupId);
+                respond(exchange, 403, new byte[0]);
+                return;
+            }
+
+            if (CONFIRMATION_TYPE.equals(envelope.type)) {
+                respond(exchange, 200, confirmationCode != null ? confirmationCode.getBytes(StandardCharsets.UTF_8) : new byte[0]);
+                return;
+            }
+
+            try {
+                executor.execute(() -> {
+                    try {
+                        callbackApi.parse(body);
+                    } catch (RuntimeException e) {
+                        LOG.error("Callback event handler failed: " + new String(body, StandardCharsets.UTF_8), e);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                LOG.warn("Callback event of group " + envelope.groupId + " rejected by executor, asking to resend", e);
+                respond(exchange, 503, new byte[0]);
+                return;
+            }
+
+            respond(exchange, 200, OK_BODY);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private byte[] readBody(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(1024);
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            if (out.size() + read > maxBodySize) {
+                return null;
+            }
+
+            out.write(buffer, 0, read);
+        }
+
+        return out.toByteArray();
+    }
+
+    private static void respond(HttpExchange exchange, int status, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+        exchange.sendResponseHeaders(status, body.length > 0 ? body.length : -1);
+        if (body.length > 0) {
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+
+    /**
+     * Read type, community and secret of the event, skipping the event object
+     */
+    private static Envelope readEnvelope(byte[] body) throws IOException {
+        JsonReader reader = new JsonReader(new InputStreamReader(new ByteArrayInputStream(body), StandardCharsets.UTF_8));
+        Envelope envelope = new Envelope();
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            if (reader.peek() == JsonToken.NULL) {
+                reader.skipValue();
+                continue;
+            }
+
+            switch (name) {
+                case "type":
+                    envelope.type = reader.nextString();
+                    break;
+                case "group_id":
+                    envelope.groupId = reader.nextInt();
+                    break;
+                case "secret":
+                    envelope.secret = reader.nextString();
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+
+        return envelope;
+    }
+
+    private static final class Envelope {
+
+        private String type;
+
+        private Integer groupId;
+
+        private String secret;
+    }
+
+    public static class Builder {
+
+        private final CallbackApi callbackApi;
+
+        private InetSocketAddress address = new InetSocketAddress(8080);
+
+        private String path = "/";
+
+        private int backlog = 0;
+
+        private String confirmationCode;
+
+        private String secret;
+
+        private Executor executor;
+
+        private Executor requestExecutor;
+
+        private int maxBodySize = 1024 * 1024;
+
+        private int queueCapacity = 1000;
+
+        private Builder(CallbackApi callbackApi) {
+            this.callbackApi = callbackApi;
+        }
+
+        /**
+         * Set port to listen on all interfaces
+         *
+         * @param port port
+         * @return a reference to this {@code Builder} object
+         */
+        public Builder port(int port) {
+            this.address = new InetSocketAddress(port);
+            return this;
+        }
+
+        /**
+         * Set address to listen on
+         *
+         * @param address address
+         * @return a reference to this {@code Builder} object
+         */
+        public Builder address(InetSocketAddress address) {
+            this.address = address;
+            return this;
+        }
+
+        /**
+         * Set path of callback requests
+         *
+         * @param path path, "/" by default
+         * @return a reference to this {@code Builder} object
+         */
+        public Builder path(String path) {
+            this.path = path;
+            return this;
+        }
+
+        /**
+         * Set maximum number of queued incoming connections
+         *
+         * @param backlog backlog, system default if 0
+         * @return a reference to this {@code Builder} object
+         */
+        public Builder backlog(int backlog) {
+            this.backlog = backlog;
+            return this;
+        }
+
+        /**
+         * Set string returned to confirmation requests
+         *
+         * @param confirmationCode confirmation code from community settings
+         * @return a reference to this {@code Builder} object
+         */
+        public Builder confirmationCode(String confirmationCode) {
+            this.confirmationCode = confirmationCode;
+            return this;
+        }
+
+        /**
+         * Set secret key, requests with another secret are rejected
+         *
+         * @param secret secret key from community settings
+         * @return a reference to this {@code Builder} object
+         */
+        public Builder secret(String secret) {
+            this.secret = secret;
+            return this;
+        }
+
+        /**
+         * Set executor running event handlers, single daemon thread with a queue of {@link #queueCapacity(int)}
+         * events by default. Events rejected by the executor are answered with 503.
+         *
+         * @param executor executor
+         * @return a reference to this {@code Builder} object
+         */
+        public Builder executor(Executor executor) {
+            this.executor = executor;
+            return this;
+        }
+
+        /**
+         * Set executor reading and acknowledging requests, so a slow client doesn't delay other requests.
+         * Cached pool of daemon threads by default.
+         *
+         * @param requestExecutor executor
+         * @return a reference to this {@code Builder} object
+         */
+        public Builder requestExecutor(Executor requestExecutor) {
+            this.requestExecutor = requestExecutor;
+            return this;
+        }
+
+        /**
+         * Set maximum size of request body
+         *
+         * @param maxBodySize size in bytes, 1 MB by default
+         * @return a reference to this {@code Builder} object
+         */
+        public Builder maxBodySize(int maxBodySize) {
+            this.maxBodySize = maxBodySize;
+            return this;
+        }
+
+        /**
+         * Set maximum number of events waiting for the default executor, further events are answered with 503
+         *
+         * @param queueCapacity number of events, 1000 by default
+         * @return a reference to this {@code Builder} object
+         * @throws IllegalArgumentException if the capacity is not positive
+         */
+        public Builder queueCapacity(int queueCapacity) {
+            if (queueCapacity <= 0) {
+                throw new IllegalArgumentException("Queue capacity must be positive: " + queueCapacity);
+            }
+
+            this.queueCapacity = queueCapacity;
+            return this;
+        }
+
+        public CallbackServer build() throws IOException {
+            return new CallbackServer(this);
+        }
+    }
+}
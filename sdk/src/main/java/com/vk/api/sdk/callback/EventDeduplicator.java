@@ -0,0 +1,323 @@
+package com.vk.api.sdk.callback;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Remembers recently seen callback events to drop redelivered ones. An event is identified by its event_id.
+ * Events without it are identified by type, community and object id if they happen once per object,
+ * like message_new or wall_post_new; other events without event_id are never dropped. Messages of
+ * conversations received by communities have zero id, they are identified by peer_id and conversation_message_id.
+ *
+ * Only 64-bit hashes of the keys are stored: a ring buffer keeps them in arrival order for expiration
+ * and an open addressing table answers lookups.
+ */
+public class EventDeduplicator {
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private static final long NO_KEY = 0;
+
+    private final long windowNanos;
+
+    private final long[] ring;
+
+    private final long[] arrivals;
+
+    private int head;
+
+    private int size;
+
+    private final long[] table;
+
+    private final int mask;
+
+    /**
+     * @param capacity maximum number of remembered events, must be positive
+     * @param windowMs time events are remembered for
+     * @throws IllegalArgumentException if capacity is not positive
+     */
+    public EventDeduplicator(int capacity, long windowMs) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMs);
+        this.ring = new long[capacity];
+        this.arrivals = new long[capacity];
+
+        int tableSize = Integer.highestOneBit(Math.max(capacity, 2) * 2 - 1) << 1;
+        this.table = new long[tableSize];
+        this.mask = tableSize - 1;
+    }
+
+    /**
+     * Remember the event
+     *
+     * @param event callback event
+     * @return false if the event was seen within the window
+     */
+    public boolean add(JsonObject event) {
+        return add(keyOf(event));
+    }
+
+    /**
+     * Remember the event
+     *
+     * @param body UTF-8 body of callback event
+     * @return false if the event was seen within the window
+     */
+    public boolean add(byte[] body, int offset, int length) {
+        return add(keyOf(body, offset, length));
+    }
+
+    private synchronized boolean add(long key) {
+        if (key == NO_KEY) {
+            return true;
+        }
+
+        long now = System.nanoTime();
+        while (size > 0 && now - arrivals[head] > windowNanos) {
+            removeOldest();
+        }
+
+        if (indexOf(key) >= 0) {
+            return false;
+        }
+
+        if (size == ring.length) {
+            removeOldest();
+        }
+
+        int tail = (head + size) % ring.length;
+        ring[tail] = key;
+        arrivals[tail] = now;
+        size++;
+
+        int index = home(key);
+        while (table[index] != NO_KEY) {
+            index = (index + 1) & mask;
+        }
+
+        table[index] = key;
+        return true;
+    }
+
+    private void removeOldest() {
+        remove(ring[head]);
+        head = (head + 1) % ring.length;
+        size--;
+    }
+
+    private int indexOf(long key) {
+        int index = home(key);
+        while (table[index] != NO_KEY) {
+            if (table[index] == key) {
+                return index;
+            }
+
+            index = (index + 1) & mask;
+        }
+
+        return -1;
+    }
+
+    /**
+     * Remove key shifting back the following keys of its probe sequence, so lookups need no tombstones
+     */
+    private void remove(long key) {
+        int hole = indexOf(key);
+        if (hole < 0) {
+            return;
+        }
+
+        table[hole] = NO_KEY;
+        int index = hole;
+        while (true) {
+            index = (index + 1) & mask;
+            long moved = table[index];
+            if (moved == NO_KEY) {
+                return;
+            }
+
+            int home = home(moved);
+            boolean reachable = hole <= index ? (home <= hole || home > index) : (home <= hole && home > index);
+            if (reachable) {
+                table[hole] = moved;
+                table[index] = NO_KEY;
+                hole = index;
+            }
+        }
+    }
+
+    private int home(long key) {
+        long mixed = key * 0x9E3779B97F4A7C15L;
+        return (int) (mixed ^ (mixed >>> 32)) & mask;
+    }
+
+    static long keyOf(JsonObject event) {
+        JsonElement eventId = event.get("event_id");
+        if (isValue(eventId)) {
+            return nonZero(hash(FNV_OFFSET_BASIS, eventId.getAsString()));
+        }
+
+        JsonElement type = event.get("type");
+        JsonElement groupId = event.get("group_id");
+        JsonElement object = event.get("object");
+        if (!isValue(type) || !isOncePerObject(type.getAsString()) || object == null || !object.isJsonObject()) {
+            return NO_KEY;
+        }
+
+        JsonObject fields = object.getAsJsonObject();
+        JsonElement message = fields.get("message");
+        if (message != null && message.isJsonObject()) {
+            fields = message.getAsJsonObject();
+        }
+
+        String id = objectId(valueOf(fields.get("id")), valueOf(fields.get("peer_id")), valueOf(fields.get("conversation_message_id")));
+        if (id == null) {
+            return NO_KEY;
+        }
+
+        return key(type.getAsString(), isValue(groupId) ? groupId.getAsString() : "", id);
+    }
+
+    static long keyOf(byte[] body, int offset, int length) {
+        JsonReader reader = new JsonReader(new InputStreamReader(new ByteArrayInputStream(body, offset, length), StandardCharsets.UTF_8));
+        try {
+            String type = null;
+            String groupId = "";
+            String id = null;
+
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String name = reader.nextName();
+                JsonToken token = reader.peek();
+                if (name.equals("object") && token == JsonToken.BEGIN_OBJECT) {
+                    id = readObjectId(reader);
+                } else if (token == JsonToken.STRING || token == JsonToken.NUMBER) {
+                    switch (name) {
+                        case "event_id":
+                            return nonZero(hash(FNV_OFFSET_BASIS, reader.nextString()));
+                        case "type":
+                            type = reader.nextString();
+                            break;
+                        case "group_id":
+                            groupId = reader.nextString();
+                            break;
+                        default:
+                            reader.skipValue();
+                    }
+                } else {
+                    reader.skipValue();
+                }
+            }
+
+            return type != null && isOncePerObject(type) && id != null ? key(type, groupId, id) : NO_KEY;
+        } catch (IOException | IllegalStateException e) {
+            return NO_KEY;
+        }
+    }
+
+    private static String readObjectId(JsonReader reader) throws IOException {
+        String id = null;
+        String peerId = null;
+        String conversationMessageId = null;
+        String messageId = null;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            JsonToken token = reader.peek();
+            if (name.equals("message") && token == JsonToken.BEGIN_OBJECT) {
+                messageId = readObjectId(reader);
+            } else if (token == JsonToken.NUMBER || token == JsonToken.STRING) {
+                switch (name) {
+                    case "id":
+                        id = reader.nextString();
+                        break;
+                    case "peer_id":
+                        peerId = reader.nextString();
+                        break;
+                    case "conversation_message_id":
+                        conversationMessageId = reader.nextString();
+                        break;
+                    default:
+                        reader.skipValue();
+                }
+            } else {
+                reader.skipValue();
+            }
+        }
+
+        reader.endObject();
+        return messageId != null ? messageId : objectId(id, peerId, conversationMessageId);
+    }
+
+    /**
+     * Get id of object, or peer and conversation message ids of messages having zero id
+     *
+     * @return id or null if the object can't be identified
+     */
+    private static String objectId(String id, String peerId, String conversationMessageId) {
+        if (id != null && !isZero(id)) {
+            return id;
+        }
+
+        if (peerId != null && conversationMessageId != null && !isZero(conversationMessageId)) {
+            return peerId + ":" + conversationMessageId;
+        }
+
+        return null;
+    }
+
+    private static boolean isZero(String value) {
+        return value.isEmpty() || value.equals("0");
+    }
+
+    private static String valueOf(JsonElement element) {
+        return isValue(element) ? element.getAsString() : null;
+    }
+
+    private static boolean isOncePerObject(String type) {
+        return type.endsWith("_new") || type.equals("message_reply") || type.equals("wall_repost");
+    }
+
+    private static boolean isValue(JsonElement element) {
+        return element != null && element.isJsonPrimitive();
+    }
+
+    private static long key(String type, String groupId, String id) {
+        long hash = hash(FNV_OFFSET_BASIS, type);
+        hash = hash(hash, groupId);
+        return nonZero(hash(hash, id));
+    }
+
+    private static long nonZero(long hash) {
+        return hash != NO_KEY ? hash : 1;
+    }
+
+    /**
+     * FNV-1a hash of chars followed by a separator
+     */
+    private static long hash(long hash, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= FNV_PRIME;
+        }
+
+        hash ^= 0xff;
+        hash *= FNV_PRIME;
+        return hash;
+    }
+}
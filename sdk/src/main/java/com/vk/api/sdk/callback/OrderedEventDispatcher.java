@@ -0,0 +1,186 @@
+package com.vk.api.sdk.callback;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Runs handlers of callback events on an executor. Events of the same peer are handled one by one
+ * in order of arrival, events of different peers are handled in parallel. Dispatching blocks when
+ * the number of pending events reaches the limit.
+ */
+public class OrderedEventDispatcher {
+
+    private static final Logger LOG = LogManager.getLogger(OrderedEventDispatcher.class);
+
+    private static final String[] ORDER_KEYS = {"peer_id", "owner_id", "from_id", "user_id"};
+
+    private final Executor executor;
+
+    private final Lane[] lanes;
+
+    private final int maxPending;
+
+    private final Semaphore pending;
+
+    /**
+     * @param executor   executor running the handlers
+     * @param lanes      number of serial lanes, usually the number of executor threads
+     * @param maxPending maximum number of dispatched events waiting or being handled
+     */
+    public OrderedEventDispatcher(Executor executor, int lanes, int maxPending) {
+        this.executor = executor;
+        this.lanes = new Lane[lanes];
+        for (int i = 0; i < lanes; i++) {
+            this.lanes[i] = new Lane();
+        }
+
+        this.maxPending = maxPending;
+        this.pending = new Semaphore(maxPending);
+    }
+
+    /**
+     * Schedule handling of the event, waiting while too many events are pending
+     *
+     * @param event   callback event
+     * @param handler event handler
+     * @throws InterruptedException       if interrupted while waiting
+     * @throws RejectedExecutionException if the executor rejected the event
+     */
+    public void dispatch(JsonObject event, Consumer<JsonObject> handler) throws InterruptedException {
+        pending.acquire();
+        Runnable task = () -> {
+            try {
+                handler.accept(event);
+            } catch (Throwable e) {
+                LOG.error("Callback event handler failed: " + event, e);
+            } finally {
+                pending.release();
+            }
+        };
+
+        Lane lane = lanes[Math.floorMod(getOrderKey(event), lanes.length)];
+        try {
+            lane.submit(task);
+        } catch (RuntimeException e) {
+            if (lane.cancel(task)) {
+                pending.release();
+            }
+
+            throw e;
+        }
+    }
+
+    /**
+     * Wait until all dispatched events are handled
+     *
+     * @param timeout maximum time to wait
+     * @param unit    time unit of timeout
+     * @return true if all events are handled
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public boolean awaitIdle(long timeout, TimeUnit unit) throws InterruptedException {
+        if (!pending.tryAcquire(maxPending, timeout, unit)) {
+            return false;
+        }
+
+        pending.release(maxPending);
+        return true;
+    }
+
+    /**
+     * Get number of dispatched events not handled yet
+     *
+     * @return number of events
+     */
+    public int getPendingCount() {
+        return maxPending - pending.availablePermits();
+    }
+
+    private static int getOrderKey(JsonObject event) {
+        JsonElement object = event.get("object");
+        if (object != null && object.isJsonObject()) {
+            JsonObject fields = object.getAsJsonObject();
+            JsonElement message = fields.get("message");
+            if (message != null && message.isJsonObject()) {
+                fields = message.getAsJsonObject();
+            }
+
+            for (String key : ORDER_KEYS) {
+                JsonElement value = fields.get(key);
+                if (value != null && value.isJsonPrimitive()) {
+                    return value.getAsString().hashCode();
+                }
+            }
+        }
+
+        JsonElement type = event.get("type");
+        return type != null && type.isJsonPrimitive() ? type.getAsString().hashCode() : 0;
+    }
+
+    /**
+     * Serial queue of tasks, at most one task of a lane runs at a time
+     */
+    private final class Lane implements Runnable {
+
+        private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        void submit(Runnable task) {
+            tasks.add(task);
+            schedule();
+        }
+
+        /**
+         * Remove task which was not run yet
+         *
+         * @param task task
+         * @return true if the task was removed
+         */
+        boolean cancel(Runnable task) {
+            return tasks.remove(task);
+        }
+
+        private void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                try {
+                    executor.execute(this);
+                } catch (RuntimeException e) {
+                    scheduled.set(false);
+                    throw e;
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                Runnable task;
+                while ((task = tasks.poll()) != null) {
+                    task.run();
+                }
+            } finally {
+                scheduled.set(false);
+            }
+
+            if (!tasks.isEmpty()) {
+                try {
+                    schedule();
+                } catch (RejectedExecutionException e) {
+                    LOG.error("Can't schedule callback events, they will be handled on the next dispatch", e);
+                }
+            }
+        }
+    }
+}
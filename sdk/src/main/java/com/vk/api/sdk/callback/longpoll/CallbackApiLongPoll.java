@@ -2,23 +2,41 @@ package com.vk.api.sdk.callback.longpoll;
 
 import com.google.gson.JsonObject;
 import com.vk.api.sdk.callback.CallbackApi;
+import com.vk.api.sdk.callback.OrderedEventDispatcher;
+import com.vk.api.sdk.client.AsyncTransportClient;
+import com.vk.api.sdk.client.TransportClient;
 import com.vk.api.sdk.client.VkApiClient;
 import com.vk.api.sdk.client.actors.GroupActor;
 import com.vk.api.sdk.client.actors.UserActor;
 import com.vk.api.sdk.exceptions.ApiException;
 import com.vk.api.sdk.exceptions.ClientException;
+import com.vk.api.sdk.exceptions.LongPollServerInfoLostException;
 import com.vk.api.sdk.exceptions.LongPollServerKeyExpiredException;
+import com.vk.api.sdk.exceptions.LongPollServerTsException;
 import com.vk.api.sdk.objects.callback.longpoll.responses.GetLongPollEventsResponse;
 import com.vk.api.sdk.objects.groups.LongPollServer;
+import com.vk.api.sdk.queries.longpoll.GetLongPollEventsQuery;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
 public class CallbackApiLongPoll extends CallbackApi {
 
     private static final Logger LOG = LogManager.getLogger(CallbackApiLongPoll.class);
 
     private static final int DEFAULT_WAIT = 10;
 
+    private static final long ABORT_RETRY_MS = 100;
+
     private VkApiClient client;
     private UserActor userActor;
     private GroupActor groupActor;
@@ -27,6 +45,31 @@ public class CallbackApiLongPoll extends CallbackApi {
 
     private final Integer waitTime;
 
+    private OrderedEventDispatcher dispatcher;
+
+    private LongPollCheckpointStore checkpointStore;
+
+    private volatile Thread pollThread;
+
+    private volatile boolean stopped;
+
+    private volatile CompletableFuture<GetLongPollEventsResponse> pendingRequest;
+
+    /**
+     * Guards {@link #polling}, so a request of a handler running on the polling thread is never aborted
+     */
+    private final Object pollingLock = new Object();
+
+    /**
+     * The polling thread is blocked in the long poll request of a blocking transport
+     */
+    private boolean polling;
+
+    /**
+     * Batches of events not handled completely yet, in order of arrival
+     */
+    private final Queue<Checkpoint> checkpoints = new ArrayDeque<>();
+
     public CallbackApiLongPoll(VkApiClient client, UserActor actor, int groupId) {
         this.client = client;
         this.userActor = actor;
@@ -55,23 +98,266 @@ public class CallbackApiLongPoll extends CallbackApi {
         this.waitTime = waitTime;
     }
 
+    /**
+     * Receive and handle events on the current thread until {@link #stop(Duration)} is called or the thread is interrupted
+     */
     public void run() throws ClientException, ApiException {
+        pollThread = Thread.currentThread();
+        try {
+            poll();
+        } finally {
+            pollThread = null;
+            stopped = false;
+        }
+    }
+
+    /**
+     * Receive and handle events on a new thread
+     *
+     * @throws IllegalStateException if events are received already
+     */
+    public synchronized void start() {
+        if (pollThread != null) {
+            throw new IllegalStateException("Long poll of group " + groupId + " is already running");
+        }
+
+        stopped = false;
+        Thread thread = new Thread(() -> {
+            try {
+                run();
+            } catch (ApiException | ClientException e) {
+                LOG.error("Long poll of group " + groupId + " failed", e);
+            }
+        }, "Callback API long poll " + groupId);
+        pollThread = thread;
+        thread.start();
+    }
+
+    /**
+     * Stop receiving events. The pending long poll request is aborted at once through the transport client,
+     * events received already are handled, and ts of handled events is saved to the checkpoint store.
+     * Requests of transports which can't abort them are waited for until the long poll wait time expires.
+     *
+     * @param timeout maximum time to wait for handlers
+     * @return true if all received events are handled within the timeout
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public boolean stop(Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        stopped = true;
+        CompletableFuture<?> request = pendingRequest;
+        if (request != null) {
+            request.cancel(true);
+        }
+
+        Thread thread = pollThread;
+        if (thread != null && thread != Thread.currentThread()) {
+            // The request may start right after the abort, so it is aborted until the thread exits.
+            // Handlers may run on the polling thread, so only the long poll request itself is aborted.
+            TransportClient transportClient = client.getTransportClient();
+            while (thread.isAlive()) {
+                long remainingMs = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                if (remainingMs <= 0) {
+                    return false;
+                }
+
+                synchronized (pollingLock) {
+                    if (polling) {
+                        transportClient.abort(thread);
+                    }
+                }
+
+                thread.join(Math.min(remainingMs, ABORT_RETRY_MS));
+            }
+        }
+
+        return dispatcher == null || dispatcher.awaitIdle(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+    }
+
+    private void poll() throws ClientException, ApiException {
         LongPollServer longPollServer = getLongPollServer();
-        int lastTimeStamp = Integer.parseInt(longPollServer.getTs());
-        while (true) {
+        Integer checkpoint = checkpointStore != null ? checkpointStore.load(groupId) : null;
+        int lastTimeStamp = checkpoint != null ? checkpoint : Integer.parseInt(longPollServer.getTs());
+        while (!stopped) {
             try {
-                GetLongPollEventsResponse eventsResponse = client.longPoll().getEvents(longPollServer.getServer(), longPollServer.getKey(), lastTimeStamp).waitTime(waitTime).execute();
-                for (JsonObject jsonObject: eventsResponse.getUpdates()) {
-                    parse(jsonObject);
+                GetLongPollEventsResponse eventsResponse = getEvents(longPollServer, lastTimeStamp);
+                if (eventsResponse == null) {
+                    return;
                 }
+
+                handle(eventsResponse.getUpdates(), eventsResponse.getTs());
                 lastTimeStamp = eventsResponse.getTs();
+            } catch (LongPollServerTsException e) {
+                if (e.getTs() == null) {
+                    throw e;
+                }
+
+                LOG.warn("Long poll history is outdated, events before ts " + e.getTs() + " are lost");
+                lastTimeStamp = e.getTs();
+                checkpoint(new Checkpoint(lastTimeStamp, 0));
             } catch (LongPollServerKeyExpiredException e) {
                 longPollServer = getLongPollServer();
                 LOG.info(longPollServer.toString());
+            } catch (LongPollServerInfoLostException e) {
+                longPollServer = getLongPollServer();
+                lastTimeStamp = Integer.parseInt(longPollServer.getTs());
+                LOG.warn("Long poll information is lost, continuing from ts " + lastTimeStamp);
+                checkpoint(new Checkpoint(lastTimeStamp, 0));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
             }
         }
     }
 
+    /**
+     * Wait for events, the request is aborted by {@link #stop(Duration)}. Blocking transports are called
+     * on the polling thread, so a thread of the common pool is not held for the wait time.
+     *
+     * @return events or null if stopped
+     */
+    private GetLongPollEventsResponse getEvents(LongPollServer longPollServer, int ts) throws ClientException, ApiException, InterruptedException {
+        GetLongPollEventsQuery query = client.longPoll()
+                .getEvents(longPollServer.getServer(), longPollServer.getKey(), ts)
+                .waitTime(waitTime);
+        if (!(client.getTransportClient() instanceof AsyncTransportClient)) {
+            synchronized (pollingLock) {
+                if (stopped) {
+                    return null;
+                }
+
+                polling = true;
+            }
+
+            try {
+                return query.execute();
+            } catch (ClientException e) {
+                if (stopped) {
+                    return null;
+                }
+
+                throw e;
+            } finally {
+                synchronized (pollingLock) {
+                    polling = false;
+                }
+            }
+        }
+
+        CompletableFuture<GetLongPollEventsResponse> request = query.executeAsync();
+        pendingRequest = request;
+        if (stopped) {
+            request.cancel(true);
+        }
+
+        try {
+            return request.get();
+        } catch (CancellationException e) {
+            return null;
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause() instanceof CompletionException && e.getCause().getCause() != null
+                    ? e.getCause().getCause() : e.getCause();
+            if (cause instanceof ApiException) {
+                throw (ApiException) cause;
+            } else if (cause instanceof ClientException) {
+                throw (ClientException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+
+            throw new CompletionException(cause);
+        } finally {
+            pendingRequest = null;
+            request.cancel(true);
+        }
+    }
+
+    private void handle(List<JsonObject> updates, int ts) throws InterruptedException {
+        if (dispatcher == null) {
+            for (JsonObject jsonObject : updates) {
+                parse(jsonObject);
+            }
+
+            checkpoint(new Checkpoint(ts, 0));
+            return;
+        }
+
+        if (checkpointStore == null) {
+            for (JsonObject jsonObject : updates) {
+                dispatcher.dispatch(jsonObject, this::parse);
+            }
+
+            return;
+        }
+
+        // The batch is not complete until all its events are dispatched, even if the first ones are handled already
+        Checkpoint checkpoint = new Checkpoint(ts, updates.size() + 1);
+        synchronized (checkpoints) {
+            checkpoints.add(checkpoint);
+        }
+
+        for (JsonObject jsonObject : updates) {
+            dispatcher.dispatch(jsonObject, event -> {
+                try {
+                    parse(event);
+                } finally {
+                    checkpoint(checkpoint);
+                }
+            });
+        }
+
+        checkpoint(checkpoint);
+    }
+
+    /**
+     * Count a handled event of the batch and save ts of the latest batch handled completely along with all preceding ones
+     */
+    private void checkpoint(Checkpoint checkpoint) {
+        if (checkpointStore == null) {
+            return;
+        }
+
+        synchronized (checkpoints) {
+            if (checkpoint.remaining == 0) {
+                checkpoints.add(checkpoint);
+            } else {
+                checkpoint.remaining--;
+            }
+
+            Checkpoint completed = null;
+            while (!checkpoints.isEmpty() && checkpoints.peek().remaining == 0) {
+                completed = checkpoints.poll();
+            }
+
+            if (completed != null) {
+                checkpointStore.save(groupId, completed.ts);
+            }
+        }
+    }
+
+    /**
+     * Save ts of handled events to the store and start from the saved ts on the next run
+     *
+     * @param checkpointStore storage of ts
+     * @return a reference to this {@code CallbackApiLongPoll} object
+     */
+    public CallbackApiLongPoll checkpointStore(LongPollCheckpointStore checkpointStore) {
+        this.checkpointStore = checkpointStore;
+        return this;
+    }
+
+    /**
+     * Handle events on the dispatcher instead of the polling thread. The next events are fetched
+     * while handlers run, until the dispatcher is full.
+     *
+     * @param dispatcher events dispatcher
+     * @return a reference to this {@code CallbackApiLongPoll} object
+     */
+    public CallbackApiLongPoll dispatcher(OrderedEventDispatcher dispatcher) {
+        this.dispatcher = dispatcher;
+        return this;
+    }
+
     private LongPollServer getLongPollServer() throws ClientException, ApiException {
         if (groupActor != null) {
             return client.groupsLongPoll().getLongPollServer(groupActor, groupActor.getGroupId()).execute();
@@ -83,4 +369,16 @@ public class CallbackApiLongPoll extends CallbackApi {
     protected VkApiClient getClient() {
         return client;
     }
+
+    private static final class Checkpoint {
+
+        private final int ts;
+
+        private int remaining;
+
+        Checkpoint(int ts, int remaining) {
+            this.ts = ts;
+            this.remaining = remaining;
+        }
+    }
 }
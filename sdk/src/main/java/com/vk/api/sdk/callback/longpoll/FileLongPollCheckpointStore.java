@@ -0,0 +1,98 @@
+package com.vk.api.sdk.callback.longpoll;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Keeps checkpoints in a file with a "groupId=ts" line per community. The file is replaced atomically
+ * by a temporary file on every save, so it is never left half written.
+ */
+public class FileLongPollCheckpointStore implements LongPollCheckpointStore {
+
+    private static final Logger LOG = LogManager.getLogger(FileLongPollCheckpointStore.class);
+
+    private final Path file;
+
+    private Map<Integer, Integer> checkpoints;
+
+    public FileLongPollCheckpointStore(Path file) {
+        this.file = file.toAbsolutePath();
+    }
+
+    @Override
+    public synchronized Integer load(int groupId) {
+        return getCheckpoints().get(groupId);
+    }
+
+    @Override
+    public synchronized void save(int groupId, int ts) {
+        Map<Integer, Integer> checkpoints = getCheckpoints();
+        Integer previous = checkpoints.put(groupId, ts);
+        if (previous != null && previous == ts) {
+            return;
+        }
+
+        try {
+            write(checkpoints);
+        } catch (IOException e) {
+            LOG.error("Can't save long poll checkpoint to " + file, e);
+        }
+    }
+
+    private Map<Integer, Integer> getCheckpoints() {
+        if (checkpoints == null) {
+            checkpoints = read();
+        }
+
+        return checkpoints;
+    }
+
+    private Map<Integer, Integer> read() {
+        Map<Integer, Integer> result = new TreeMap<>();
+        if (!Files.exists(file)) {
+            return result;
+        }
+
+        try {
+            for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                int separator = line.indexOf('=');
+                if (separator > 0) {
+                    result.put(Integer.valueOf(line.substring(0, separator).trim()), Integer.valueOf(line.substring(separator + 1).trim()));
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            LOG.error("Can't read long poll checkpoints from " + file, e);
+        }
+
+        return result;
+    }
+
+    private void write(Map<Integer, Integer> checkpoints) throws IOException {
+        Path tmp = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+        try {
+            try (Writer writer = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+                for (Map.Entry<Integer, Integer> entry : checkpoints.entrySet()) {
+                    writer.write(entry.getKey() + "=" + entry.getValue() + "\n");
+                }
+            }
+
+            try {
+                Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+}
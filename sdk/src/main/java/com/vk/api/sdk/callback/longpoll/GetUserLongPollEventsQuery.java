@@ -0,0 +1,174 @@
+package com.vk.api.sdk.callback.longpoll;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.vk.api.sdk.client.ClientResponse;
+import com.vk.api.sdk.client.VkApiClient;
+import com.vk.api.sdk.exceptions.ClientException;
+import com.vk.api.sdk.objects.callback.longpoll.GetLongPollEventsActInfo;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Query for events of user long poll server. Updates are decoded from their positional arrays
+ * directly, without intermediate json tree.
+ */
+public class GetUserLongPollEventsQuery extends LongPollQueryBuilder<GetUserLongPollEventsQuery, UserLongPollEvents> {
+
+    private static final Logger LOG = LogManager.getLogger(GetUserLongPollEventsQuery.class);
+
+    /**
+     * Creates a LongPollQueryBuilder instance that can be used to build long polling request with various parameters
+     *
+     * @param client VK API client
+     * @param server server address returned by messages.getLongPollServer
+     * @param key    secret key
+     * @param ts     timestamp
+     */
+    public GetUserLongPollEventsQuery(VkApiClient client, String server, String key, Integer ts) {
+        super(client, server.startsWith("http") ? server : "https://" + server, UserLongPollEvents.class);
+        unsafeParam("act", GetLongPollEventsActInfo.CHECK.getValue());
+        key(key);
+        unsafeParam("ts", ts);
+    }
+
+    public GetUserLongPollEventsQuery waitTime(Integer value) {
+        return unsafeParam("wait", value);
+    }
+
+    /**
+     * Additional answer options, sum of flags: 2 - attachments, 8 - extended events, 32 - pts,
+     * 64 - platform of online friends, 128 - random_id
+     *
+     * @param value value of "mode" parameter
+     * @return a reference to this {@code GetUserLongPollEventsQuery} object
+     */
+    public GetUserLongPollEventsQuery mode(Integer value) {
+        return unsafeParam("mode", value);
+    }
+
+    public GetUserLongPollEventsQuery version(Integer value) {
+        return unsafeParam("version", value);
+    }
+
+    @Override
+    protected UserLongPollEvents parseResponse(ClientResponse response) throws ClientException {
+        try {
+            JsonReader reader = new JsonReader(response.getContentReader());
+            Integer failed = null;
+            Integer ts = null;
+            Integer pts = null;
+            List<UserLongPollEvent> updates = Collections.emptyList();
+
+            reader.beginObject();
+            while (reader.hasNext()) {
+                switch (reader.nextName()) {
+                    case "failed":
+                        failed = reader.nextInt();
+                        break;
+                    case "ts":
+                        ts = reader.nextInt();
+                        break;
+                    case "pts":
+                        pts = reader.nextInt();
+                        break;
+                    case "updates":
+                        updates = readUpdates(reader);
+                        break;
+                    default:
+                        reader.skipValue();
+                }
+            }
+
+            return new UserLongPollEvents(failed, ts, pts, updates);
+        } catch (IOException | IllegalStateException | NumberFormatException e) {
+            LOG.error("Invalid JSON: " + response.getContent(), e);
+            throw new ClientException("Can't parse json response");
+        }
+    }
+
+    private static List<UserLongPollEvent> readUpdates(JsonReader reader) throws IOException {
+        List<UserLongPollEvent> updates = new ArrayList<>();
+        reader.beginArray();
+        while (reader.hasNext()) {
+            updates.add(readEvent(reader));
+        }
+
+        reader.endArray();
+        return updates;
+    }
+
+    private static UserLongPollEvent readEvent(JsonReader reader) throws IOException {
+        int[] values = new int[10];
+        int size = 0;
+        String text = null;
+        Map<String, String> extra = null;
+        Map<String, String> attachments = null;
+
+        reader.beginArray();
+        while (reader.hasNext()) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+
+            JsonToken token = reader.peek();
+            if (token == JsonToken.NUMBER) {
+                values[size] = (int) reader.nextLong();
+            } else if (token == JsonToken.STRING) {
+                String value = reader.nextString();
+                if (text == null) {
+                    text = value;
+                }
+            } else if (token == JsonToken.BEGIN_OBJECT) {
+                Map<String, String> fields = readFields(reader);
+                if (extra == null) {
+                    extra = fields;
+                } else if (attachments == null) {
+                    attachments = fields;
+                }
+            } else {
+                reader.skipValue();
+            }
+
+            size++;
+        }
+
+        reader.endArray();
+        return new UserLongPollEvent(values[0], Arrays.copyOf(values, size), text, extra, attachments);
+    }
+
+    private static Map<String, String> readFields(JsonReader reader) throws IOException {
+        Map<String, String> fields = new HashMap<>();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            JsonToken token = reader.peek();
+            if (token == JsonToken.STRING || token == JsonToken.NUMBER || token == JsonToken.BOOLEAN) {
+                fields.put(name, token == JsonToken.BOOLEAN ? Boolean.toString(reader.nextBoolean()) : reader.nextString());
+            } else {
+                reader.skipValue();
+            }
+        }
+
+        reader.endObject();
+        return fields;
+    }
+
+    @Override
+    protected GetUserLongPollEventsQuery getThis() {
+        return this;
+    }
+
+    @Override
+    protected List<String> essentialKeys() {
+        return Arrays.asList("act", "key", "ts");
+    }
+}
@@ -0,0 +1,23 @@
+package com.vk.api.sdk.callback.longpoll;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps checkpoints in memory, e.g. to resume polling after {@link CallbackApiLongPoll#run()} was restarted
+ * in the same process
+ */
+public class InMemoryLongPollCheckpointStore implements LongPollCheckpointStore {
+
+    private final Map<Integer, Integer> checkpoints = new ConcurrentHashMap<>();
+
+    @Override
+    public Integer load(int groupId) {
+        return checkpoints.get(groupId);
+    }
+
+    @Override
+    public void save(int groupId, int ts) {
+        checkpoints.put(groupId, ts);
+    }
+}
@@ -0,0 +1,23 @@
+package com.vk.api.sdk.callback.longpoll;
+
+/**
+ * Storage of the last handled long poll ts of communities, so polling resumes from it after restart
+ */
+public interface LongPollCheckpointStore {
+
+    /**
+     * Get the last saved ts of community
+     *
+     * @param groupId community id
+     * @return ts or null if nothing is saved
+     */
+    Integer load(int groupId);
+
+    /**
+     * Save ts of community, all events before it are handled
+     *
+     * @param groupId community id
+     * @param ts      long poll ts
+     */
+    void save(int groupId, int ts);
+}
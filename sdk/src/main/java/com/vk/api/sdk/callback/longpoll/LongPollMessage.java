@@ -0,0 +1,134 @@
+package com.vk.api.sdk.callback.longpoll;
+
+import com.vk.api.sdk.objects.messages.Message;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Message of user long poll new and edit message events
+ */
+public class LongPollMessage {
+
+    private static final int UNREAD_FLAG = 1;
+
+    private static final int OUTBOX_FLAG = 2;
+
+    private final int id;
+
+    private final int flags;
+
+    private final int peerId;
+
+    private final int timestamp;
+
+    private final String text;
+
+    private final Integer fromId;
+
+    private final String title;
+
+    private final Integer randomId;
+
+    private final Map<String, String> attachments;
+
+    LongPollMessage(UserLongPollEvent event) {
+        this.id = event.getInt(1);
+        this.flags = event.getInt(2);
+        this.peerId = event.getInt(3);
+        this.timestamp = event.getInt(4);
+        this.text = event.getText();
+        this.title = event.getExtra().get("title");
+        this.attachments = event.getAttachments();
+
+        String from = event.getExtra().get("from");
+        this.fromId = from != null ? Integer.valueOf(from) : (isOutbox() ? null : peerId);
+        this.randomId = event.size() > 8 ? event.getInt(8) : null;
+    }
+
+    LongPollMessage(int flags, Message message) {
+        this.id = valueOf(message.getId());
+        this.flags = flags;
+        this.peerId = valueOf(message.getPeerId());
+        this.timestamp = valueOf(message.getDate());
+        this.text = message.getText();
+        this.fromId = message.getFromId();
+        this.title = null;
+        this.randomId = message.getRandomId();
+        this.attachments = Collections.emptyMap();
+    }
+
+    private static int valueOf(Integer value) {
+        return value != null ? value : 0;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public int getFlags() {
+        return flags;
+    }
+
+    public boolean isUnread() {
+        return (flags & UNREAD_FLAG) != 0;
+    }
+
+    public boolean isOutbox() {
+        return (flags & OUTBOX_FLAG) != 0;
+    }
+
+    public int getPeerId() {
+        return peerId;
+    }
+
+    public int getTimestamp() {
+        return timestamp;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    /**
+     * Get author of the message
+     *
+     * @return author id or null for outgoing messages in dialogs
+     */
+    public Integer getFromId() {
+        return fromId;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public Integer getRandomId() {
+        return randomId;
+    }
+
+    /**
+     * Get attachments as sent by long poll server, e.g. "attach1_type" and "attach1" keys
+     *
+     * @return attachments, empty for messages recovered from history
+     */
+    public Map<String, String> getAttachments() {
+        return attachments;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("LongPollMessage{");
+        sb.append("id=").append(id);
+        sb.append(", flags=").append(flags);
+        sb.append(", peerId=").append(peerId);
+        sb.append(", timestamp=").append(timestamp);
+        sb.append(", text='").append(text).append("'");
+        sb.append(", fromId=").append(fromId);
+        sb.append(", title='").append(title).append("'");
+        sb.append(", randomId=").append(randomId);
+        sb.append(", attachments=").append(attachments);
+        sb.append('}');
+        return sb.toString();
+    }
+}
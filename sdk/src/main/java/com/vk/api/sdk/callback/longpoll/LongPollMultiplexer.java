@@ -0,0 +1,337 @@
+package com.vk.api.sdk.callback.longpoll;
+
+import com.google.gson.JsonObject;
+import com.vk.api.sdk.callback.CallbackApi;
+import com.vk.api.sdk.client.VkApiClient;
+import com.vk.api.sdk.client.actors.GroupActor;
+import com.vk.api.sdk.exceptions.LongPollServerInfoLostException;
+import com.vk.api.sdk.exceptions.LongPollServerKeyExpiredException;
+import com.vk.api.sdk.exceptions.LongPollServerTsException;
+import com.vk.api.sdk.objects.callback.longpoll.responses.GetLongPollEventsResponse;
+import com.vk.api.sdk.objects.groups.LongPollServer;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.Closeable;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Receives Callback API long poll events of many communities without a thread per community.
+ * Long poll requests of all communities are kept in flight with {@link com.vk.api.sdk.client.ApiRequest#executeAsync()},
+ * so VkApiClient should use a non-blocking transport client, e.g. AsyncHttpTransportClient.
+ *
+ * Events of a community are handled one by one on the executor while the next events are fetched.
+ * Polling of a community pauses while too many of its batches of events wait for handling.
+ */
+public class LongPollMultiplexer implements Closeable {
+
+    private static final Logger LOG = LogManager.getLogger(LongPollMultiplexer.class);
+
+    private static final int DEFAULT_WAIT = 25;
+
+    private static final long RETRY_DELAY_MS = 3_000;
+
+    private static final int DEFAULT_MAX_PENDING_BATCHES = 4;
+
+    private static final ScheduledExecutorService SCHEDULER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "Long poll multiplexer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final VkApiClient client;
+
+    private final Executor executor;
+
+    private final int waitTime;
+
+    private final Map<Integer, Subscription> subscriptions = new ConcurrentHashMap<>();
+
+    private volatile LongPollCheckpointStore checkpointStore;
+
+    private volatile int maxPendingBatches = DEFAULT_MAX_PENDING_BATCHES;
+
+    public LongPollMultiplexer(VkApiClient client, Executor executor) {
+        this(client, executor, DEFAULT_WAIT);
+    }
+
+    public LongPollMultiplexer(VkApiClient client, Executor executor, int waitTime) {
+        this.client = client;
+        this.executor = executor;
+        this.waitTime = waitTime;
+    }
+
+    /**
+     * Start receiving events of community
+     *
+     * @param actor   community actor
+     * @param handler handler of community events
+     */
+    public void register(GroupActor actor, CallbackApi handler) {
+        Subscription subscription = new Subscription(actor, handler);
+        if (checkpointStore != null) {
+            subscription.ts = checkpointStore.load(actor.getGroupId());
+        }
+
+        Subscription previous = subscriptions.put(actor.getGroupId(), subscription);
+        if (previous != null) {
+            previous.cancel();
+        }
+
+        refreshServer(subscription, false);
+    }
+
+    /**
+     * Save ts of handled events of communities to the store and start from the saved ts on registration
+     *
+     * @param checkpointStore storage of ts
+     * @return a reference to this {@code LongPollMultiplexer} object
+     */
+    public LongPollMultiplexer checkpointStore(LongPollCheckpointStore checkpointStore) {
+        this.checkpointStore = checkpointStore;
+        return this;
+    }
+
+    /**
+     * Set maximum number of received batches of events of a community waiting for handling,
+     * polling of the community pauses until the handler catches up
+     *
+     * @param maxPendingBatches number of batches, 4 by default
+     * @return a reference to this {@code LongPollMultiplexer} object
+     */
+    public LongPollMultiplexer maxPendingBatches(int maxPendingBatches) {
+        if (maxPendingBatches <= 0) {
+            throw new IllegalArgumentException("Maximum number of pending batches must be positive: " + maxPendingBatches);
+        }
+
+        this.maxPendingBatches = maxPendingBatches;
+        return this;
+    }
+
+    /**
+     * Stop receiving events of community
+     *
+     * @param groupId community id
+     */
+    public void unregister(int groupId) {
+        Subscription subscription = subscriptions.remove(groupId);
+        if (subscription != null) {
+            subscription.cancel();
+        }
+    }
+
+    @Override
+    public void close() {
+        for (Integer groupId : subscriptions.keySet()) {
+            unregister(groupId);
+        }
+    }
+
+    private void refreshServer(Subscription subscription, boolean resetTs) {
+        GroupActor actor = subscription.actor;
+        subscription.track(client.groupsLongPoll().getLongPollServer(actor, actor.getGroupId()).executeAsync())
+                .whenComplete((server, e) -> {
+                    if (!subscription.active) {
+                        return;
+                    }
+
+                    if (e != null) {
+                        LOG.error("Can't get long poll server of group " + actor.getGroupId(), unwrap(e));
+                        retryLater(() -> refreshServer(subscription, resetTs));
+                        return;
+                    }
+
+                    subscription.server = server;
+                    if (resetTs || subscription.ts == null) {
+                        subscription.ts = Integer.valueOf(server.getTs());
+                    }
+
+                    poll(subscription);
+                });
+    }
+
+    private void poll(Subscription subscription) {
+        LongPollServer server = subscription.server;
+        subscription.track(client.longPoll().getEvents(server.getServer(), server.getKey(), subscription.ts)
+                .waitTime(waitTime)
+                .executeAsync())
+                .whenComplete((response, e) -> {
+                    if (!subscription.active) {
+                        return;
+                    }
+
+                    if (e == null) {
+                        subscription.ts = response.getTs();
+                        subscription.handle(response.getUpdates(), response.getTs());
+                        subscription.whenReady(() -> poll(subscription));
+                        return;
+                    }
+
+                    Throwable cause = unwrap(e);
+                    if (cause instanceof LongPollServerKeyExpiredException) {
+                        refreshServer(subscription, false);
+                    } else if (cause instanceof LongPollServerTsException && ((LongPollServerTsException) cause).getTs() != null) {
+                        subscription.ts = ((LongPollServerTsException) cause).getTs();
+                        LOG.warn("Long poll history of group " + subscription.actor.getGroupId() + " is outdated, events before ts " + subscription.ts + " are lost");
+                        subscription.handle(Collections.emptyList(), subscription.ts);
+                        subscription.whenReady(() -> poll(subscription));
+                    } else if (cause instanceof LongPollServerInfoLostException) {
+                        refreshServer(subscription, true);
+                    } else {
+                        LOG.error("Long poll request of group " + subscription.actor.getGroupId() + " failed", cause);
+                        retryLater(() -> poll(subscription));
+                    }
+                });
+    }
+
+    private static void retryLater(Runnable task) {
+        SCHEDULER.schedule(task, RETRY_DELAY_MS, TimeUnit.MILLISECONDS);
+    }
+
+    private static Throwable unwrap(Throwable e) {
+        return e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+    }
+
+    private final class Subscription {
+
+        private final GroupActor actor;
+
+        private final CallbackApi handler;
+
+        private volatile boolean active = true;
+
+        private volatile LongPollServer server;
+
+        private volatile Integer ts;
+
+        private volatile CompletableFuture<?> current;
+
+        /**
+         * Completes when all events received so far are handled
+         */
+        private CompletableFuture<Void> handled = CompletableFuture.completedFuture(null);
+
+        /**
+         * Number of batches of events waiting for handling, guarded by this
+         */
+        private int pendingBatches;
+
+        /**
+         * Poll postponed until the handler catches up, guarded by this
+         */
+        private Runnable postponed;
+
+        Subscription(GroupActor actor, CallbackApi handler) {
+            this.actor = actor;
+            this.handler = handler;
+        }
+
+        <T> CompletableFuture<T> track(CompletableFuture<T> future) {
+            current = future;
+            if (!active) {
+                future.cancel(true);
+            }
+
+            return future;
+        }
+
+        synchronized void handle(List<JsonObject> updates, int ts) {
+            LongPollCheckpointStore store = checkpointStore;
+            if (updates.isEmpty() && store == null) {
+                return;
+            }
+
+            pendingBatches++;
+            Runnable batch = () -> {
+                try {
+                    for (JsonObject update : updates) {
+                        try {
+                            handler.parse(update);
+                        } catch (RuntimeException e) {
+                            LOG.error("Callback event handler of group " + actor.getGroupId() + " failed: " + update, e);
+                        }
+                    }
+
+                    if (store != null) {
+                        store.save(actor.getGroupId(), ts);
+                    }
+                } catch (RuntimeException e) {
+                    LOG.error("Can't save ts " + ts + " of group " + actor.getGroupId(), e);
+                } finally {
+                    batchHandled();
+                }
+            };
+
+            // Each batch runs after the previous one whatever its outcome, so a failure doesn't stop the next batches
+            CompletableFuture<Void> next = new CompletableFuture<>();
+            handled.whenComplete((result, error) -> {
+                try {
+                    executor.execute(() -> {
+                        try {
+                            batch.run();
+                        } finally {
+                            next.complete(null);
+                        }
+                    });
+                } catch (RejectedExecutionException e) {
+                    LOG.error("Events of group " + actor.getGroupId() + " before ts " + ts + " are rejected by executor", e);
+                    try {
+                        batchHandled();
+                    } finally {
+                        next.complete(null);
+                    }
+                }
+            });
+            handled = next;
+        }
+
+        /**
+         * Run the task now, or after a batch is handled if too many batches are pending
+         */
+        void whenReady(Runnable task) {
+            synchronized (this) {
+                if (pendingBatches >= maxPendingBatches) {
+                    postponed = task;
+                    return;
+                }
+            }
+
+            task.run();
+        }
+
+        private void batchHandled() {
+            Runnable task;
+            synchronized (this) {
+                pendingBatches--;
+                if (postponed == null || pendingBatches >= maxPendingBatches) {
+                    return;
+                }
+
+                task = postponed;
+                postponed = null;
+            }
+
+            if (active) {
+                task.run();
+            }
+        }
+
+        void cancel() {
+            active = false;
+            CompletableFuture<?> future = current;
+            if (future != null) {
+                future.cancel(true);
+            }
+        }
+    }
+}
@@ -6,15 +6,16 @@ import com.google.gson.JsonPrimitive;
 import com.google.gson.JsonSyntaxException;
 import com.google.gson.stream.JsonReader;
 import com.vk.api.sdk.client.ApiRequest;
+import com.vk.api.sdk.client.ClientResponse;
 import com.vk.api.sdk.client.VkApiClient;
 import com.vk.api.sdk.exceptions.ApiException;
 import com.vk.api.sdk.exceptions.ClientException;
+import com.vk.api.sdk.exceptions.LongPollServerInfoLostException;
 import com.vk.api.sdk.exceptions.LongPollServerKeyExpiredException;
 import com.vk.api.sdk.exceptions.LongPollServerTsException;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-import java.io.StringReader;
 import java.io.UnsupportedEncodingException;
 import java.lang.reflect.Type;
 import java.net.URLEncoder;
@@ -31,6 +32,7 @@ public abstract class LongPollQueryBuilder<T, R> extends ApiRequest<R> {
 
     private static final int INCORRECT_TS_VALUE_ERROR_CODE = 1;
     private static final int TOKEN_EXPIRED_ERROR_CODE = 2;
+    private static final int INFORMATION_LOST_ERROR_CODE = 3;
 
     private static final String FAILED_CODE = "failed";
 
@@ -86,18 +88,24 @@ public abstract class LongPollQueryBuilder<T, R> extends ApiRequest<R> {
 
     @Override
     public R execute() throws ApiException, ClientException {
-        String textResponse = executeAsString();
-        JsonReader jsonReader = new JsonReader(new StringReader(textResponse));
+        return executeWithoutRetry();
+    }
+
+    @Override
+    protected R parseResponse(ClientResponse response) throws ApiException, ClientException {
+        JsonReader jsonReader = new JsonReader(response.getContentReader());
         JsonObject json = (JsonObject) new JsonParser().parse(jsonReader);
         if (json.has(FAILED_CODE)) {
             JsonPrimitive failedParam = json.getAsJsonPrimitive(FAILED_CODE);
             int code = failedParam.getAsInt();
             switch (code) {
                 case INCORRECT_TS_VALUE_ERROR_CODE:
-                    int ts = json.getAsJsonPrimitive("ts").getAsInt();
-                    throw new LongPollServerTsException("\'ts\' value is incorrect, minimal value is 1, maximal value is " + ts);
+                    Integer ts = json.has("ts") ? json.getAsJsonPrimitive("ts").getAsInt() : null;
+                    throw new LongPollServerTsException("\'ts\' value is incorrect, minimal value is 1, maximal value is " + ts, ts);
                 case TOKEN_EXPIRED_ERROR_CODE:
                     throw new LongPollServerKeyExpiredException("Try to generate a new key.");
+                case INFORMATION_LOST_ERROR_CODE:
+                    throw new LongPollServerInfoLostException("Try to generate a new key and ts.");
                 default:
                     throw new ClientException("Unknown LongPollServer exception, something went wrong.");
             }
@@ -106,7 +114,7 @@ public abstract class LongPollQueryBuilder<T, R> extends ApiRequest<R> {
         try {
             return getGson().fromJson(json, getResponseClass());
         } catch (JsonSyntaxException e) {
-            LOG.error("Invalid JSON: " + textResponse, e);
+            LOG.error("Invalid JSON: " + response.getContent(), e);
             throw new ClientException("Can't parse json response");
         }
     }
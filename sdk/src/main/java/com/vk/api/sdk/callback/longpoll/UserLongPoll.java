@@ -0,0 +1,287 @@
+package com.vk.api.sdk.callback.longpoll;
+
+import com.vk.api.sdk.client.VkApiClient;
+import com.vk.api.sdk.client.actors.UserActor;
+import com.vk.api.sdk.exceptions.ApiException;
+import com.vk.api.sdk.exceptions.ClientException;
+import com.vk.api.sdk.objects.messages.LongpollParams;
+import com.vk.api.sdk.objects.messages.Message;
+import com.vk.api.sdk.objects.messages.responses.GetLongPollHistoryResponse;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Handler of user long poll events. Override methods for handling events and call {@link #run()}.
+ * Events missed while the long poll history was lost are recovered with messages.getLongPollHistory.
+ */
+public class UserLongPoll {
+
+    private static final Logger LOG = LogManager.getLogger(UserLongPoll.class);
+
+    private static final int DEFAULT_WAIT = 25;
+
+    private static final int VERSION = 3;
+
+    /**
+     * Attachments, extended events, pts, platform of online friends and random_id
+     */
+    private static final int MODE = 2 | 8 | 32 | 64 | 128;
+
+    private static final int HISTORY_OUTDATED = 1;
+    private static final int KEY_EXPIRED = 2;
+    private static final int INFORMATION_LOST = 3;
+
+    private static final int EVENT_FLAGS_REPLACE = 1;
+    private static final int EVENT_FLAGS_SET = 2;
+    private static final int EVENT_FLAGS_RESET = 3;
+    private static final int EVENT_MESSAGE_NEW = 4;
+    private static final int EVENT_MESSAGE_EDIT = 5;
+    private static final int EVENT_READ_INCOMING = 6;
+    private static final int EVENT_READ_OUTGOING = 7;
+    private static final int EVENT_FRIEND_ONLINE = 8;
+    private static final int EVENT_FRIEND_OFFLINE = 9;
+    private static final int EVENT_MESSAGES_DELETED = 13;
+    private static final int EVENT_USER_TYPING = 61;
+    private static final int EVENT_USER_TYPING_IN_CHAT = 62;
+    private static final int EVENT_UNREAD_COUNTER = 80;
+
+    private final VkApiClient client;
+
+    private final UserActor actor;
+
+    private final int waitTime;
+
+    private LongpollParams server;
+
+    private int ts;
+
+    private Integer pts;
+
+    public UserLongPoll(VkApiClient client, UserActor actor) {
+        this(client, actor, DEFAULT_WAIT);
+    }
+
+    public UserLongPoll(VkApiClient client, UserActor actor, int waitTime) {
+        this.client = client;
+        this.actor = actor;
+        this.waitTime = waitTime;
+    }
+
+    public void run() throws ClientException, ApiException {
+        server = getLongPollServer();
+        ts = server.getTs();
+        pts = server.getPts();
+
+        while (!Thread.currentThread().isInterrupted()) {
+            UserLongPollEvents events = new GetUserLongPollEventsQuery(client, server.getServer(), server.getKey(), ts)
+                    .waitTime(waitTime)
+                    .mode(MODE)
+                    .version(VERSION)
+                    .execute();
+
+            Integer failed = events.getFailed();
+            if (failed == null) {
+                for (UserLongPollEvent event : events.getUpdates()) {
+                    handle(event);
+                }
+
+                ts = events.getTs();
+                if (events.getPts() != null) {
+                    pts = events.getPts();
+                }
+
+                continue;
+            }
+
+            switch (failed) {
+                case HISTORY_OUTDATED:
+                    LOG.info("Long poll history is outdated, recovering events since pts " + pts);
+                    recoverHistory();
+                    ts = events.getTs();
+                    break;
+                case KEY_EXPIRED:
+                    server = getLongPollServer();
+                    break;
+                case INFORMATION_LOST:
+                    LOG.info("Long poll information is lost, recovering events since pts " + pts);
+                    server = getLongPollServer();
+                    recoverHistory();
+                    ts = server.getTs();
+                    break;
+                default:
+                    throw new ClientException("Unknown LongPollServer exception, something went wrong.");
+            }
+        }
+    }
+
+    /**
+     * Handle events since the last known pts
+     */
+    private void recoverHistory() throws ClientException, ApiException {
+        if (pts == null) {
+            return;
+        }
+
+        GetLongPollHistoryResponse history;
+        do {
+            history = client.messages().getLongPollHistory(actor)
+                    .ts(ts)
+                    .pts(pts)
+                    .lpVersion(VERSION)
+                    .execute();
+
+            Map<Integer, Message> messages = new HashMap<>();
+            if (history.getMessages() != null && history.getMessages().getItems() != null) {
+                for (Message message : history.getMessages().getItems()) {
+                    messages.put(message.getId(), message);
+                }
+            }
+
+            if (history.getHistory() != null) {
+                for (List<Integer> item : history.getHistory()) {
+                    handleHistory(item, messages);
+                }
+            }
+
+            if (history.getNewPts() != null) {
+                pts = history.getNewPts();
+            }
+        } while (Boolean.TRUE.equals(history.getMore()));
+    }
+
+    private void handleHistory(List<Integer> item, Map<Integer, Message> messages) {
+        if (item.isEmpty() || item.get(0) == null) {
+            return;
+        }
+
+        int code = item.get(0);
+        if ((code == EVENT_MESSAGE_NEW || code == EVENT_MESSAGE_EDIT) && item.size() > 2) {
+            Message message = messages.get(item.get(1));
+            if (message != null) {
+                LongPollMessage longPollMessage = new LongPollMessage(item.get(2) != null ? item.get(2) : 0, message);
+                if (code == EVENT_MESSAGE_NEW) {
+                    messageNew(longPollMessage);
+                } else {
+                    messageEdit(longPollMessage);
+                }
+            }
+
+            return;
+        }
+
+        int[] values = new int[item.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = item.get(i) != null ? item.get(i) : 0;
+        }
+
+        handle(new UserLongPollEvent(code, values, null, null, null));
+    }
+
+    private void handle(UserLongPollEvent event) {
+        switch (event.getCode()) {
+            case EVENT_FLAGS_REPLACE:
+                messageFlagsReplace(event.getInt(1), event.getInt(2), event.getInt(3));
+                break;
+            case EVENT_FLAGS_SET:
+                messageFlagsSet(event.getInt(1), event.getInt(2), event.getInt(3));
+                break;
+            case EVENT_FLAGS_RESET:
+                messageFlagsReset(event.getInt(1), event.getInt(2), event.getInt(3));
+                break;
+            case EVENT_MESSAGE_NEW:
+                messageNew(new LongPollMessage(event));
+                break;
+            case EVENT_MESSAGE_EDIT:
+                messageEdit(new LongPollMessage(event));
+                break;
+            case EVENT_READ_INCOMING:
+                messagesReadIncoming(event.getInt(1), event.getInt(2));
+                break;
+            case EVENT_READ_OUTGOING:
+                messagesReadOutgoing(event.getInt(1), event.getInt(2));
+                break;
+            case EVENT_FRIEND_ONLINE:
+                friendOnline(-event.getInt(1), event.getInt(2) & 0xff, event.getInt(3));
+                break;
+            case EVENT_FRIEND_OFFLINE:
+                friendOffline(-event.getInt(1), event.getInt(2) == 1, event.getInt(3));
+                break;
+            case EVENT_MESSAGES_DELETED:
+                messagesDeleted(event.getInt(1), event.getInt(2));
+                break;
+            case EVENT_USER_TYPING:
+                userTyping(event.getInt(1));
+                break;
+            case EVENT_USER_TYPING_IN_CHAT:
+                userTypingInChat(event.getInt(1), event.getInt(2));
+                break;
+            case EVENT_UNREAD_COUNTER:
+                unreadCounter(event.getInt(1));
+                break;
+            default:
+                otherEvent(event);
+        }
+    }
+
+    public void messageFlagsReplace(int messageId, int flags, int peerId) {
+    }
+
+    public void messageFlagsSet(int messageId, int mask, int peerId) {
+    }
+
+    public void messageFlagsReset(int messageId, int mask, int peerId) {
+    }
+
+    public void messageNew(LongPollMessage message) {
+    }
+
+    public void messageEdit(LongPollMessage message) {
+    }
+
+    public void messagesReadIncoming(int peerId, int localId) {
+    }
+
+    public void messagesReadOutgoing(int peerId, int localId) {
+    }
+
+    public void friendOnline(int userId, int platform, int timestamp) {
+    }
+
+    public void friendOffline(int userId, boolean timeout, int timestamp) {
+    }
+
+    public void messagesDeleted(int peerId, int localId) {
+    }
+
+    public void userTyping(int userId) {
+    }
+
+    public void userTypingInChat(int userId, int chatId) {
+    }
+
+    public void unreadCounter(int count) {
+    }
+
+    /**
+     * Handle event without its own handler method
+     *
+     * @param event long poll event
+     */
+    public void otherEvent(UserLongPollEvent event) {
+    }
+
+    private LongpollParams getLongPollServer() throws ClientException, ApiException {
+        return client.messages().getLongPollServer(actor)
+                .needPts(true)
+                .lpVersion(VERSION)
+                .execute();
+    }
+
+    protected VkApiClient getClient() {
+        return client;
+    }
+}
@@ -0,0 +1,72 @@
+package com.vk.api.sdk.callback.longpoll;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Update of user long poll server in its positional form: event code followed by numbers,
+ * message text and objects with extra fields and attachments.
+ */
+public class UserLongPollEvent {
+
+    private final int code;
+
+    private final int[] values;
+
+    private final String text;
+
+    private final Map<String, String> extra;
+
+    private final Map<String, String> attachments;
+
+    UserLongPollEvent(int code, int[] values, String text, Map<String, String> extra, Map<String, String> attachments) {
+        this.code = code;
+        this.values = values;
+        this.text = text;
+        this.extra = extra != null ? extra : Collections.emptyMap();
+        this.attachments = attachments != null ? attachments : Collections.emptyMap();
+    }
+
+    public int getCode() {
+        return code;
+    }
+
+    /**
+     * Get number at position of the update array
+     *
+     * @param position position, the event code is at position 0
+     * @return number or 0 if there is no number at the position
+     */
+    public int getInt(int position) {
+        return position < values.length ? values[position] : 0;
+    }
+
+    public int size() {
+        return values.length;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public Map<String, String> getExtra() {
+        return extra;
+    }
+
+    public Map<String, String> getAttachments() {
+        return attachments;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("UserLongPollEvent{");
+        sb.append("code=").append(code);
+        sb.append(", values=").append(Arrays.toString(values));
+        sb.append(", text='").append(text).append("'");
+        sb.append(", extra=").append(extra);
+        sb.append(", attachments=").append(attachments);
+        sb.append('}');
+        return sb.toString();
+    }
+}
@@ -0,0 +1,46 @@
+package com.vk.api.sdk.callback.longpoll;
+
+import java.util.List;
+
+/**
+ * Response of user long poll server
+ */
+public class UserLongPollEvents {
+
+    private final Integer failed;
+
+    private final Integer ts;
+
+    private final Integer pts;
+
+    private final List<UserLongPollEvent> updates;
+
+    UserLongPollEvents(Integer failed, Integer ts, Integer pts, List<UserLongPollEvent> updates) {
+        this.failed = failed;
+        this.ts = ts;
+        this.pts = pts;
+        this.updates = updates;
+    }
+
+    /**
+     * Get error code of long poll server: 1 - history is outdated, 2 - key expired, 3 - user information lost,
+     * 4 - invalid version
+     *
+     * @return error code or null
+     */
+    public Integer getFailed() {
+        return failed;
+    }
+
+    public Integer getTs() {
+        return ts;
+    }
+
+    public Integer getPts() {
+        return pts;
+    }
+
+    public List<UserLongPollEvent> getUpdates() {
+        return updates;
+    }
+}
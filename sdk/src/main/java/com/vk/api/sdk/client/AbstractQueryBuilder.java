@@ -34,7 +34,7 @@ public abstract class AbstractQueryBuilder<T, R> extends ApiRequest<R> {
      * @param type   type of method response
      */
     public AbstractQueryBuilder(VkApiClient client, String method, Type type) {
-        super(client.getApiEndpoint() + method, client.getTransportClient(), client.getGson(), client.getRetryAttemptsInternalServerErrorCount(), type);
+        super(client.getApiEndpoint() + method, client.getTransportClient(), client.getGson(), client.getRetryAttemptsInternalServerErrorCount(), client.getRateLimiter(), type);
         this.method = method;
         version(client.getVersion());
     }
@@ -48,7 +48,7 @@ public abstract class AbstractQueryBuilder<T, R> extends ApiRequest<R> {
      * @param type     type of method response
      */
     public AbstractQueryBuilder(VkApiClient client, String endpoint, String method, Type type) {
-        super(endpoint + method, client.getTransportClient(), client.getGson(), client.getRetryAttemptsInternalServerErrorCount(), type);
+        super(endpoint + method, client.getTransportClient(), client.getGson(), client.getRetryAttemptsInternalServerErrorCount(), client.getRateLimiter(), type);
         version(client.getVersion());
     }
 
@@ -282,6 +282,11 @@ public abstract class AbstractQueryBuilder<T, R> extends ApiRequest<R> {
         return unsafeParam(key, fields.stream().map(EnumParam::getValue).collect(Collectors.joining(",")));
     }
 
+    @Override
+    protected String getRateLimitKey() {
+        return params.get("access_token");
+    }
+
     @Override
     protected String getBody() {
         return mapToGetString(build());
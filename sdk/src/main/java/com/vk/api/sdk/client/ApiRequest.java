@@ -2,19 +2,21 @@ package com.vk.api.sdk.client;
 
 import com.google.gson.*;
 import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 import com.vk.api.sdk.exceptions.ApiException;
 import com.vk.api.sdk.exceptions.ApiServerException;
 import com.vk.api.sdk.exceptions.ClientException;
 import com.vk.api.sdk.exceptions.ExceptionMapper;
 import com.vk.api.sdk.objects.base.Error;
-import com.vk.api.sdk.queries.oauth.OAuthQueryBuilder;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.io.IOException;
-import java.io.StringReader;
 import java.lang.reflect.Type;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Created by tsivarev on 21.07.16.
@@ -23,6 +25,10 @@ public abstract class ApiRequest<T> {
 
     private static final Logger LOG = LogManager.getLogger(ApiRequest.class);
 
+    private static final String RESPONSE_KEY = "response";
+
+    private static final String ERROR_KEY = "error";
+
     private TransportClient client;
 
     private Gson gson;
@@ -33,12 +39,19 @@ public abstract class ApiRequest<T> {
 
     private int retryAttempts;
 
+    private RateLimiter rateLimiter;
+
     public ApiRequest(String url, TransportClient client, Gson gson, int retryAttempts, Type responseClass) {
+        this(url, client, gson, retryAttempts, null, responseClass);
+    }
+
+    public ApiRequest(String url, TransportClient client, Gson gson, int retryAttempts, RateLimiter rateLimiter, Type responseClass) {
         this.client = client;
         this.url = url;
         this.responseClass = responseClass;
         this.gson = gson;
         this.retryAttempts = retryAttempts;
+        this.rateLimiter = rateLimiter;
     }
 
     protected String getUrl() {
@@ -53,15 +66,37 @@ public abstract class ApiRequest<T> {
         return client;
     }
 
-    protected Type getResponseClass() {
+    public Type getResponseClass() {
         return responseClass;
     }
 
+    /**
+     * Get key the request rate is limited by
+     *
+     * @return access token of the request or null if the request is not limited
+     */
+    protected String getRateLimitKey() {
+        return null;
+    }
+
     public T execute() throws ApiException, ClientException {
+        return execute(this::parseResponse);
+    }
+
+    /**
+     * Execute request and map the response with the parser, retrying on API server errors
+     *
+     * @param parser response parser
+     * @param <V>    type of result
+     * @return result of the parser
+     * @throws ApiException    if API returned an error
+     * @throws ClientException if request failed
+     */
+    protected <V> V execute(ResponseParser<V> parser) throws ApiException, ClientException {
         ApiServerException exception = null;
         for (int i = 0; i < retryAttempts; i++) {
             try {
-                return executeWithoutRetry();
+                return executeWithoutRetry(parser);
             } catch (ApiServerException e) {
                 LOG.warn("API Server error", e);
                 exception = e;
@@ -71,49 +106,223 @@ public abstract class ApiRequest<T> {
         throw exception;
     }
 
-    private T executeWithoutRetry() throws ClientException, ApiException {
-        String textResponse = executeAsString();
-        JsonReader jsonReader = new JsonReader(new StringReader(textResponse));
-        JsonObject json = (JsonObject) new JsonParser().parse(jsonReader);
+    /**
+     * Execute request without blocking the caller. Requires the transport client to implement
+     * {@link AsyncTransportClient}, otherwise the blocking {@link #execute()} is run in the common pool.
+     *
+     * @return future completed with the response or exceptionally with {@link ApiException} or {@link ClientException}
+     */
+    public CompletableFuture<T> executeAsync() {
+        if (!(client instanceof AsyncTransportClient)) {
+            return CompletableFuture.supplyAsync(() -> {
+                try {
+                    return execute();
+                } catch (ApiException | ClientException e) {
+                    throw new CompletionException(e);
+                }
+            });
+        }
+
+        return executeAsync(this::parseResponse);
+    }
+
+    /**
+     * Execute request without blocking the caller and map the response with the parser
+     *
+     * @param parser response parser
+     * @param <V>    type of result
+     * @return future completed with result of the parser or exceptionally with {@link ApiException} or {@link ClientException}
+     */
+    protected <V> CompletableFuture<V> executeAsync(ResponseParser<V> parser) {
+        if (!(client instanceof AsyncTransportClient)) {
+            return CompletableFuture.supplyAsync(() -> {
+                try {
+                    return execute(parser);
+                } catch (ApiException | ClientException e) {
+                    throw new CompletionException(e);
+                }
+            });
+        }
+
+        CompletableFuture<V> result = new CompletableFuture<>();
+        AtomicReference<CompletableFuture<ClientResponse>> current = new AtomicReference<>();
+        executeAsync((AsyncTransportClient) client, parser, result, current, 1);
+
+        result.whenComplete((response, e) -> {
+            CompletableFuture<ClientResponse> future = current.get();
+            if (result.isCancelled() && future != null) {
+                future.cancel(true);
+            }
+        });
+
+        return result;
+    }
+
+    private <V> void executeAsync(AsyncTransportClient asyncClient, ResponseParser<V> parser, CompletableFuture<V> result,
+                                  AtomicReference<CompletableFuture<ClientResponse>> current, int attempt) {
+        String rateLimitKey = getRateLimitKey();
+        if (rateLimiter == null || rateLimitKey == null) {
+            sendAsync(asyncClient, parser, result, current, attempt);
+            return;
+        }
+
+        rateLimiter.acquireAsync(rateLimitKey).whenComplete((v, e) -> {
+            if (result.isDone()) {
+                return;
+            }
+
+            if (e != null) {
+                LOG.error("Can't acquire rate limit permit: " + url, e);
+                result.completeExceptionally(new ClientException("Can't acquire rate limit permit"));
+                return;
+            }
+
+            sendAsync(asyncClient, parser, result, current, attempt);
+        });
+    }
+
+    private <V> void sendAsync(AsyncTransportClient asyncClient, ResponseParser<V> parser, CompletableFuture<V> result,
+                               AtomicReference<CompletableFuture<ClientResponse>> current, int attempt) {
+        CompletableFuture<ClientResponse> future = executeAsRawAsync(asyncClient);
+        current.set(future);
+
+        future.whenComplete((response, e) -> {
+            if (result.isDone()) {
+                return;
+            }
+
+            try {
+                if (e != null) {
+                    LOG.error("Problems with request: " + url, e);
+                    throw new ClientException("I/O exception");
+                }
+
+                checkResponse(response);
+                result.complete(parser.parse(response));
+            } catch (ApiServerException ex) {
+                LOG.warn("API Server error", ex);
+                if (attempt < retryAttempts) {
+                    executeAsync(asyncClient, parser, result, current, attempt + 1);
+                } else {
+                    result.completeExceptionally(ex);
+                }
+            } catch (ApiException | ClientException | RuntimeException ex) {
+                result.completeExceptionally(ex);
+            }
+        });
+    }
+
+    protected T executeWithoutRetry() throws ClientException, ApiException {
+        return executeWithoutRetry(this::parseResponse);
+    }
+
+    private <V> V executeWithoutRetry(ResponseParser<V> parser) throws ClientException, ApiException {
+        ClientResponse response = executeAsRaw();
+        checkResponse(response);
+        return parser.parse(response);
+    }
+
+    /**
+     * Map response body to the response object. The body is decoded in a single pass when it starts
+     * with "response" or "error" key, other bodies are decoded via intermediate json tree.
+     *
+     * @param response raw response
+     * @return response object
+     * @throws ApiException    if API returned an error
+     * @throws ClientException if response can't be parsed
+     */
+    protected T parseResponse(ClientResponse response) throws ApiException, ClientException {
+        return parseResponse(response, responseClass);
+    }
+
+    /**
+     * Map response body to an object of the type other than the response class of the request
+     *
+     * @param response raw response
+     * @param type     type of result
+     * @param <V>      type of result
+     * @return response object
+     * @throws ApiException    if API returned an error
+     * @throws ClientException if response can't be parsed
+     */
+    protected <V> V parseResponse(ClientResponse response, Type type) throws ApiException, ClientException {
+        try {
+            JsonReader jsonReader = new JsonReader(response.getContentReader());
+            if (jsonReader.peek() == JsonToken.BEGIN_OBJECT) {
+                jsonReader.beginObject();
+                if (jsonReader.hasNext()) {
+                    String name = jsonReader.nextName();
+                    if (RESPONSE_KEY.equals(name)) {
+                        return gson.fromJson(jsonReader, type);
+                    }
 
-        if (json.has("error")) {
-            JsonElement errorElement = json.get("error");
+                    if (ERROR_KEY.equals(name)) {
+                        throw parseError(gson.fromJson(jsonReader, Error.class));
+                    }
+                }
+            }
+        } catch (JsonParseException | IOException e) {
+            LOG.error("Invalid JSON: " + response.getContent(), e);
+            throw new ClientException("Can't parse json response");
+        }
+
+        return parseResponseTree(response, type);
+    }
+
+    private <V> V parseResponseTree(ClientResponse clientResponse, Type type) throws ApiException, ClientException {
+        JsonObject json;
+        try {
+            json = (JsonObject) new JsonParser().parse(new JsonReader(clientResponse.getContentReader()));
+        } catch (JsonParseException | ClassCastException e) {
+            LOG.error("Invalid JSON: " + clientResponse.getContent(), e);
+            throw new ClientException("Can't parse json response");
+        }
+
+        if (json.has(ERROR_KEY)) {
+            JsonElement errorElement = json.get(ERROR_KEY);
             Error error;
             try {
                 error = gson.fromJson(errorElement, Error.class);
             } catch (JsonSyntaxException e) {
-                LOG.error("Invalid JSON: " + textResponse, e);
+                LOG.error("Invalid JSON: " + clientResponse.getContent(), e);
                 throw new ClientException("Can't parse json response");
             }
 
-            ApiException exception = ExceptionMapper.parseException(error);
-
-            LOG.error("API error", exception);
-            throw exception;
+            throw parseError(error);
         }
 
         JsonElement response = json;
-        if (json.has("response")) {
-            response = json.get("response");
+        if (json.has(RESPONSE_KEY)) {
+            response = json.get(RESPONSE_KEY);
         }
 
         try {
-            return gson.fromJson(response, responseClass);
+            return gson.fromJson(response, type);
         } catch (JsonSyntaxException e) {
-            LOG.error("Invalid JSON: " + textResponse, e);
+            LOG.error("Invalid JSON: " + clientResponse.getContent(), e);
             throw new ClientException("Can't parse json response");
         }
     }
 
+    protected ApiException parseError(Error error) {
+        ApiException exception = ExceptionMapper.parseException(error);
+        LOG.error("API error", exception);
+        return exception;
+    }
+
     public String executeAsString() throws ClientException {
-        ClientResponse response;
-        try {
-            response = client.post(url, getBody());
-        } catch (IOException e) {
-            LOG.error("Problems with request: " + url, e);
-            throw new ClientException("I/O exception");
-        }
+        ClientResponse response = executeAsRaw();
+        checkResponse(response);
+        return response.getContent();
+    }
 
+    /**
+     * Check status code and content type of the response
+     *
+     * @param response raw response
+     * @throws ClientException if response is not a valid API response
+     */
+    protected void checkResponse(ClientResponse response) throws ClientException {
         if (response.getStatusCode() != 200) {
             throw new ClientException("Internal API server error. Wrong status code: " + response.getStatusCode() + ". Content: " + response.getContent());
         }
@@ -129,11 +338,10 @@ public abstract class ApiRequest<T> {
         if (!contentType.contains("application/json") && !contentType.contains("text/javascript")) {
             throw new ClientException("Invalid content type");
         }
-
-        return response.getContent();
     }
 
     public ClientResponse executeAsRaw() throws ClientException {
+        acquirePermit();
         try {
             return client.post(url, getBody());
         } catch (IOException e) {
@@ -142,5 +350,45 @@ public abstract class ApiRequest<T> {
         }
     }
 
+    /**
+     * Wait until the rate limiter allows the request
+     *
+     * @throws ClientException if interrupted while waiting
+     */
+    protected void acquirePermit() throws ClientException {
+        String rateLimitKey = getRateLimitKey();
+        if (rateLimiter == null || rateLimitKey == null) {
+            return;
+        }
+
+        try {
+            rateLimiter.acquire(rateLimitKey);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ClientException("Interrupted while waiting for rate limit");
+        }
+    }
+
+    /**
+     * Send request via non-blocking transport
+     *
+     * @param asyncClient transport client
+     * @return future completed with raw response
+     */
+    protected CompletableFuture<ClientResponse> executeAsRawAsync(AsyncTransportClient asyncClient) {
+        return asyncClient.postAsync(url, getBody());
+    }
+
     protected abstract String getBody();
+
+    /**
+     * Maps raw response to the result of request
+     *
+     * @param <V> type of result
+     */
+    @FunctionalInterface
+    protected interface ResponseParser<V> {
+
+        V parse(ClientResponse response) throws ApiException, ClientException;
+    }
 }
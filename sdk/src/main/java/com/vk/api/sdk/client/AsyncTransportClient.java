@@ -0,0 +1,28 @@
+package com.vk.api.sdk.client;
+
+import java.io.File;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking transport. Returned futures are completed on the transport I/O threads.
+ */
+public interface AsyncTransportClient {
+
+    CompletableFuture<ClientResponse> getAsync(String url);
+
+    CompletableFuture<ClientResponse> getAsync(String url, String contentType);
+
+    CompletableFuture<ClientResponse> postAsync(String url);
+
+    CompletableFuture<ClientResponse> postAsync(String url, String body);
+
+    CompletableFuture<ClientResponse> postAsync(String url, String body, String contentType);
+
+    CompletableFuture<ClientResponse> postAsync(String url, String fileName, File file);
+
+    CompletableFuture<ClientResponse> deleteAsync(String url);
+
+    CompletableFuture<ClientResponse> deleteAsync(String url, String body);
+
+    CompletableFuture<ClientResponse> deleteAsync(String url, String body, String contentType);
+}
@@ -0,0 +1,213 @@
+package com.vk.api.sdk.client;
+
+import com.vk.api.sdk.client.actors.Actor;
+import com.vk.api.sdk.client.actors.GroupActor;
+import com.vk.api.sdk.client.actors.UserActor;
+import com.vk.api.sdk.queries.execute.BatchResult;
+import com.vk.api.sdk.queries.execute.ExecuteBatchQuery;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coalesces independent requests of the same actor into execute batches. Requests are collected
+ * for a short linger window or until the batch is full, then sent as one execute request.
+ */
+public class BatchingDispatcher implements Closeable {
+
+    /**
+     * Maximum number of API calls in one execute request
+     */
+    public static final int MAX_BATCH_SIZE = 25;
+
+    private static final long DEFAULT_LINGER_MS = 20;
+
+    private static final ScheduledExecutorService SCHEDULER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "Batching dispatcher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final VkApiClient client;
+
+    private final long lingerMs;
+
+    private final Map<String, Batch> batches = new HashMap<>();
+
+    public BatchingDispatcher(VkApiClient client) {
+        this(client, DEFAULT_LINGER_MS);
+    }
+
+    public BatchingDispatcher(VkApiClient client, long lingerMs) {
+        this.client = client;
+        this.lingerMs = lingerMs;
+    }
+
+    /**
+     * Add request of user to the next batch
+     *
+     * @param actor   actor with access token
+     * @param request request
+     * @param <R>     type of response
+     * @return future completed with the response of the request
+     */
+    public <R> CompletableFuture<R> submit(UserActor actor, AbstractQueryBuilder<?, R> request) {
+        return submitRequest(actor, request);
+    }
+
+    /**
+     * Add request of community to the next batch
+     *
+     * @param actor   actor with access token
+     * @param request request
+     * @param <R>     type of response
+     * @return future completed with the response of the request
+     */
+    public <R> CompletableFuture<R> submit(GroupActor actor, AbstractQueryBuilder<?, R> request) {
+        return submitRequest(actor, request);
+    }
+
+    /**
+     * Send all collected requests without waiting for the linger window
+     */
+    @Override
+    public void close() {
+        List<Batch> pending;
+        synchronized (batches) {
+            pending = new ArrayList<>(batches.values());
+            batches.clear();
+        }
+
+        for (Batch batch : pending) {
+            batch.flushTask.cancel(false);
+            send(batch);
+        }
+    }
+
+    private <R> CompletableFuture<R> submitRequest(Actor actor, AbstractQueryBuilder<?, R> request) {
+        CompletableFuture<R> future = new CompletableFuture<>();
+        Batch full = null;
+
+        synchronized (batches) {
+            Batch batch = batches.get(actor.getAccessToken());
+            if (batch == null) {
+                batch = new Batch(actor);
+                batches.put(actor.getAccessToken(), batch);
+                Batch scheduled = batch;
+                batch.flushTask = SCHEDULER.schedule(() -> flush(scheduled), lingerMs, TimeUnit.MILLISECONDS);
+            }
+
+            batch.calls.add(new Call<>(request, future));
+            if (batch.calls.size() >= MAX_BATCH_SIZE) {
+                batches.remove(actor.getAccessToken());
+                batch.flushTask.cancel(false);
+                full = batch;
+            }
+        }
+
+        if (full != null) {
+            send(full);
+        }
+
+        return future;
+    }
+
+    private void flush(Batch batch) {
+        synchronized (batches) {
+            if (!batches.remove(batch.actor.getAccessToken(), batch)) {
+                return;
+            }
+        }
+
+        send(batch);
+    }
+
+    private void send(Batch batch) {
+        List<Call<?>> calls = new ArrayList<>(batch.calls.size());
+        for (Call<?> call : batch.calls) {
+            if (!call.future.isDone()) {
+                calls.add(call);
+            }
+        }
+
+        if (calls.isEmpty()) {
+            return;
+        }
+
+        if (calls.size() == 1) {
+            calls.get(0).forward();
+            return;
+        }
+
+        AbstractQueryBuilder<?, ?>[] requests = new AbstractQueryBuilder<?, ?>[calls.size()];
+        for (int i = 0; i < calls.size(); i++) {
+            requests[i] = calls.get(i).request;
+        }
+
+        ExecuteBatchQuery query = batch.actor instanceof GroupActor
+                ? new ExecuteBatchQuery(client, (GroupActor) batch.actor, requests)
+                : new ExecuteBatchQuery(client, (UserActor) batch.actor, requests);
+
+        query.executeAsBatchAsync().whenComplete((result, e) -> {
+            for (int i = 0; i < calls.size(); i++) {
+                if (e != null) {
+                    calls.get(i).future.completeExceptionally(e);
+                } else {
+                    calls.get(i).complete(result, i);
+                }
+            }
+        });
+    }
+
+    private static final class Batch {
+
+        private final Actor actor;
+
+        private final List<Call<?>> calls = new ArrayList<>();
+
+        private ScheduledFuture<?> flushTask;
+
+        Batch(Actor actor) {
+            this.actor = actor;
+        }
+    }
+
+    private static final class Call<R> {
+
+        private final AbstractQueryBuilder<?, R> request;
+
+        private final CompletableFuture<R> future;
+
+        Call(AbstractQueryBuilder<?, R> request, CompletableFuture<R> future) {
+            this.request = request;
+            this.future = future;
+        }
+
+        void forward() {
+            request.executeAsync().whenComplete((response, e) -> {
+                if (e != null) {
+                    future.completeExceptionally(e);
+                } else {
+                    future.complete(response);
+                }
+            });
+        }
+
+        @SuppressWarnings("unchecked")
+        void complete(BatchResult result, int index) {
+            if (result.isSuccessful(index)) {
+                future.complete((R) result.getResponse(index));
+            } else {
+                future.completeExceptionally(result.getError(index));
+            }
+        }
+    }
+}
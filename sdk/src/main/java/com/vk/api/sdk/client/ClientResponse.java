@@ -1,5 +1,11 @@
 package com.vk.api.sdk.client;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.Map;
 
 /**
@@ -9,6 +15,8 @@ public class ClientResponse {
 
     private int statusCode;
 
+    private byte[] body;
+
     private String content;
 
     private Map<String, String> headers;
@@ -19,15 +27,65 @@ public class ClientResponse {
         this.headers = headers;
     }
 
+    public ClientResponse(int statusCode, byte[] body, Map<String, String> headers) {
+        this.statusCode = statusCode;
+        this.body = body;
+        this.headers = headers;
+    }
+
     public int getStatusCode() {
         return statusCode;
     }
 
+    /**
+     * Get response body as string. The string is decoded on first access.
+     *
+     * @return response body
+     */
     public String getContent() {
+        if (content == null && body != null) {
+            content = new String(body, StandardCharsets.UTF_8);
+        }
+
         return content;
     }
 
+    /**
+     * Get response body as stream of bytes without decoding it to string
+     *
+     * @return response body
+     */
+    public InputStream getContentStream() {
+        return new ByteArrayInputStream(getBody());
+    }
+
+    /**
+     * Get response body as read-only buffer without decoding it to string
+     *
+     * @return response body
+     */
+    public ByteBuffer getContentBuffer() {
+        return ByteBuffer.wrap(getBody()).asReadOnlyBuffer();
+    }
+
+    /**
+     * Get reader over UTF-8 response body
+     *
+     * @return response body
+     */
+    public Reader getContentReader() {
+        return new InputStreamReader(getContentStream(), StandardCharsets.UTF_8);
+    }
+
     public Map<String, String> getHeaders() {
         return headers;
     }
+
+    private byte[] getBody() {
+        if (body == null) {
+            body = content != null ? content.getBytes(StandardCharsets.UTF_8) : new byte[0];
+        }
+
+        return body;
+    }
 }
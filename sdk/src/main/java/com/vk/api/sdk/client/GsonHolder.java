@@ -0,0 +1,23 @@
+package com.vk.api.sdk.client;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.vk.api.sdk.deserializers.ObjectsTypeAdapterFactory;
+
+/**
+ * Holder of the default Gson instance. Gson is thread-safe, so a single instance serves all clients,
+ * callback handlers and string representations of objects.
+ */
+public final class GsonHolder {
+
+    private static final Gson GSON = new GsonBuilder()
+            .registerTypeAdapterFactory(new ObjectsTypeAdapterFactory())
+            .create();
+
+    private GsonHolder() {
+    }
+
+    public static Gson getGson() {
+        return GSON;
+    }
+}
@@ -0,0 +1,25 @@
+package com.vk.api.sdk.client;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Limits the rate of API requests made with the same access token
+ */
+public interface RateLimiter {
+
+    /**
+     * Block until a request with the access token is allowed
+     *
+     * @param accessToken access token of the request
+     * @throws InterruptedException if interrupted while waiting
+     */
+    void acquire(String accessToken) throws InterruptedException;
+
+    /**
+     * Reserve a request with the access token without blocking
+     *
+     * @param accessToken access token of the request
+     * @return future completed when the request is allowed
+     */
+    CompletableFuture<Void> acquireAsync(String accessToken);
+}
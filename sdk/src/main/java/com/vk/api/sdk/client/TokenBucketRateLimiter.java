@@ -0,0 +1,149 @@
+package com.vk.api.sdk.client;
+
+import com.vk.api.sdk.client.actors.Actor;
+import com.vk.api.sdk.client.actors.GroupActor;
+import com.vk.api.sdk.client.actors.ServiceActor;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Rate limiter with a bucket per access token. Requests are spaced evenly, so no more than
+ * the configured number of requests per second is sent in any one-second window.
+ * Reservation is a single CAS on the bucket state, callers never block each other.
+ *
+ * Register actors to apply limits of their type. <b>Access tokens which are neither registered nor given a limit
+ * with {@link #setLimit(String, double)} get the user limit, including tokens of communities</b>, so register
+ * community actors to use the community limit.
+ */
+public class TokenBucketRateLimiter implements RateLimiter {
+
+    private static final double DEFAULT_USER_REQUESTS_PER_SECOND = 3;
+    private static final double DEFAULT_GROUP_REQUESTS_PER_SECOND = 20;
+    private static final double DEFAULT_SERVICE_REQUESTS_PER_SECOND = 3;
+
+    private static final ScheduledExecutorService SCHEDULER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "Rate limiter");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final ConcurrentMap<String, Bucket> buckets = new ConcurrentHashMap<>();
+
+    private final double userRequestsPerSecond;
+    private final double groupRequestsPerSecond;
+    private final double serviceRequestsPerSecond;
+
+    public TokenBucketRateLimiter() {
+        this(DEFAULT_USER_REQUESTS_PER_SECOND, DEFAULT_GROUP_REQUESTS_PER_SECOND, DEFAULT_SERVICE_REQUESTS_PER_SECOND);
+    }
+
+    public TokenBucketRateLimiter(double userRequestsPerSecond, double groupRequestsPerSecond, double serviceRequestsPerSecond) {
+        checkLimit(userRequestsPerSecond);
+        checkLimit(groupRequestsPerSecond);
+        checkLimit(serviceRequestsPerSecond);
+        this.userRequestsPerSecond = userRequestsPerSecond;
+        this.groupRequestsPerSecond = groupRequestsPerSecond;
+        this.serviceRequestsPerSecond = serviceRequestsPerSecond;
+    }
+
+    /**
+     * Apply limit of actor type to requests with its access token
+     *
+     * @param actor actor
+     * @return a reference to this {@code TokenBucketRateLimiter} object
+     */
+    public TokenBucketRateLimiter register(Actor actor) {
+        double requestsPerSecond = userRequestsPerSecond;
+        if (actor instanceof GroupActor) {
+            requestsPerSecond = groupRequestsPerSecond;
+        } else if (actor instanceof ServiceActor) {
+            requestsPerSecond = serviceRequestsPerSecond;
+        }
+
+        return setLimit(actor.getAccessToken(), requestsPerSecond);
+    }
+
+    /**
+     * Set limit for requests with access token
+     *
+     * @param accessToken       access token
+     * @param requestsPerSecond allowed requests per second, must be positive
+     * @return a reference to this {@code TokenBucketRateLimiter} object
+     * @throws IllegalArgumentException if requestsPerSecond is not positive
+     */
+    public TokenBucketRateLimiter setLimit(String accessToken, double requestsPerSecond) {
+        checkLimit(requestsPerSecond);
+        buckets.put(accessToken, new Bucket(requestsPerSecond));
+        return this;
+    }
+
+    @Override
+    public void acquire(String accessToken) throws InterruptedException {
+        long waitNanos = getBucket(accessToken).reserve();
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+
+    @Override
+    public CompletableFuture<Void> acquireAsync(String accessToken) {
+        long waitNanos = getBucket(accessToken).reserve();
+        if (waitNanos <= 0) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        SCHEDULER.schedule(() -> future.complete(null), waitNanos, TimeUnit.NANOSECONDS);
+        return future;
+    }
+
+    private static void checkLimit(double requestsPerSecond) {
+        if (!(requestsPerSecond > 0) || Double.isInfinite(requestsPerSecond)) {
+            throw new IllegalArgumentException("Requests per second must be positive: " + requestsPerSecond);
+        }
+    }
+
+    /**
+     * Get bucket of access token, unknown tokens get the user limit
+     */
+    private Bucket getBucket(String accessToken) {
+        return buckets.computeIfAbsent(accessToken, token -> new Bucket(userRequestsPerSecond));
+    }
+
+    private static final class Bucket {
+
+        private final long intervalNanos;
+
+        /**
+         * Time when the next request may be sent, in {@link System#nanoTime()} scale
+         */
+        private final AtomicLong nextSlot;
+
+        Bucket(double requestsPerSecond) {
+            intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / requestsPerSecond);
+            nextSlot = new AtomicLong(System.nanoTime());
+        }
+
+        /**
+         * Reserve the next free slot
+         *
+         * @return nanoseconds to wait before sending the request
+         */
+        long reserve() {
+            while (true) {
+                long now = System.nanoTime();
+                long slot = nextSlot.get();
+                long start = slot - now > 0 ? slot : now;
+                if (nextSlot.compareAndSet(slot, start + intervalNanos)) {
+                    return start - now;
+                }
+            }
+        }
+    }
+}
@@ -25,4 +25,13 @@ public interface TransportClient {
     ClientResponse delete(String url, String body) throws IOException;
 
     ClientResponse delete(String url, String body, String contentType) throws IOException;
+
+    /**
+     * Abort the request being executed by the thread, so the blocked call fails with {@link IOException}.
+     * Transports which can't abort requests ignore the call.
+     *
+     * @param thread thread executing the request
+     */
+    default void abort(Thread thread) {
+    }
 }
@@ -1,7 +1,6 @@
 package com.vk.api.sdk.client;
 
 import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
 import com.vk.api.sdk.actions.Account;
 import com.vk.api.sdk.actions.Ads;
 import com.vk.api.sdk.actions.AppWidgets;
@@ -42,6 +41,7 @@ import com.vk.api.sdk.actions.Utils;
 import com.vk.api.sdk.actions.Videos;
 import com.vk.api.sdk.actions.Wall;
 import com.vk.api.sdk.actions.Widgets;
+import com.vk.api.sdk.deserializers.ValidatingTypeAdapterFactory;
 import org.apache.commons.lang3.StringUtils;
 
 public class VkApiClient {
@@ -55,7 +55,9 @@ public class VkApiClient {
 
     private TransportClient transportClient;
 
-    private Gson gson;
+    private volatile Gson gson;
+
+    private boolean validatingResponses;
 
     private String apiEndpoint;
 
@@ -63,15 +65,29 @@ public class VkApiClient {
 
     private int retryAttemptsInternalServerErrorCount;
 
+    private RateLimiter rateLimiter;
+
+    private volatile BatchingDispatcher batchingDispatcher;
+
     public VkApiClient(TransportClient transportClient) {
-        this(transportClient, new GsonBuilder().create(), DEFAULT_RETRY_ATTEMPTS_INTERNAL_SERVER_ERROR_COUNT);
+        this(transportClient, GsonHolder.getGson(), DEFAULT_RETRY_ATTEMPTS_INTERNAL_SERVER_ERROR_COUNT);
     }
 
     public VkApiClient(TransportClient transportClient, Gson gson,
             int retryAttemptsInternalServerErrorCount) {
+        this(transportClient, gson, retryAttemptsInternalServerErrorCount, null);
+    }
+
+    public VkApiClient(TransportClient transportClient, RateLimiter rateLimiter) {
+        this(transportClient, GsonHolder.getGson(), DEFAULT_RETRY_ATTEMPTS_INTERNAL_SERVER_ERROR_COUNT, rateLimiter);
+    }
+
+    public VkApiClient(TransportClient transportClient, Gson gson,
+            int retryAttemptsInternalServerErrorCount, RateLimiter rateLimiter) {
         this.transportClient = transportClient;
         this.gson = gson;
         this.retryAttemptsInternalServerErrorCount = retryAttemptsInternalServerErrorCount;
+        this.rateLimiter = rateLimiter;
 
         if (StringUtils.isNoneEmpty(System.getProperty("api.host"))) {
            apiEndpoint = "https://" + System.getProperty("api.host") + "/method/";
@@ -94,10 +110,55 @@ public class VkApiClient {
         return gson;
     }
 
+    /**
+     * Check required fields of response objects while decoding them, so responses missing required fields
+     * fail with {@link com.vk.api.sdk.exceptions.ClientException}. Disabled by default.
+     *
+     * @return a reference to this {@code VkApiClient} object
+     */
+    public synchronized VkApiClient validateResponses() {
+        if (!validatingResponses) {
+            gson = gson.newBuilder()
+                    .registerTypeAdapterFactory(new ValidatingTypeAdapterFactory())
+                    .create();
+            validatingResponses = true;
+        }
+
+        return this;
+    }
+
+    public synchronized boolean isValidatingResponses() {
+        return validatingResponses;
+    }
+
     public int getRetryAttemptsInternalServerErrorCount() {
         return retryAttemptsInternalServerErrorCount;
     }
 
+    public RateLimiter getRateLimiter() {
+        return rateLimiter;
+    }
+
+    /**
+     * Get dispatcher that coalesces requests of the same actor into execute batches
+     *
+     * @return shared dispatcher of this client
+     */
+    public BatchingDispatcher batching() {
+        BatchingDispatcher dispatcher = batchingDispatcher;
+        if (dispatcher == null) {
+            synchronized (this) {
+                dispatcher = batchingDispatcher;
+                if (dispatcher == null) {
+                    dispatcher = new BatchingDispatcher(this);
+                    batchingDispatcher = dispatcher;
+                }
+            }
+        }
+
+        return dispatcher;
+    }
+
     public String getApiEndpoint() {
         return apiEndpoint;
     }
@@ -0,0 +1,107 @@
+package com.vk.api.sdk.deserializers;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.vk.api.sdk.objects.base.Geo;
+import com.vk.api.sdk.objects.messages.ForeignMessage;
+import com.vk.api.sdk.objects.messages.MessageAttachment;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Reads {@link ForeignMessage} without reflection, writing is delegated to the default adapter
+ */
+public class ForeignMessageTypeAdapter extends TypeAdapter<ForeignMessage> {
+
+    /**
+     * Names of the fields read by this adapter, checked against the fields of {@link ForeignMessage} by {@link ObjectsTypeAdapterFactory}
+     */
+    static final Set<String> FIELDS = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+            "attachments", "conversation_message_id", "date", "from_id", "fwd_messages", "geo", "id", "peer_id",
+            "reply_message", "text", "update_time")));
+
+    private final TypeAdapter<ForeignMessage> delegate;
+
+    private final TypeAdapter<List<MessageAttachment>> attachmentsAdapter;
+
+    private final TypeAdapter<List<ForeignMessage>> messagesAdapter;
+
+    private final TypeAdapter<ForeignMessage> messageAdapter;
+
+    private final TypeAdapter<Geo> geoAdapter;
+
+    public ForeignMessageTypeAdapter(Gson gson, TypeAdapter<ForeignMessage> delegate) {
+        this.delegate = delegate;
+        this.attachmentsAdapter = gson.getAdapter(new TypeToken<List<MessageAttachment>>() {});
+        this.messagesAdapter = gson.getAdapter(new TypeToken<List<ForeignMessage>>() {});
+        this.messageAdapter = gson.getAdapter(ForeignMessage.class);
+        this.geoAdapter = gson.getAdapter(Geo.class);
+    }
+
+    @Override
+    public void write(JsonWriter out, ForeignMessage value) throws IOException {
+        delegate.write(out, value);
+    }
+
+    @Override
+    public ForeignMessage read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+
+        ForeignMessage message = new ForeignMessage();
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "attachments":
+                    message.setAttachments(attachmentsAdapter.read(in));
+                    break;
+                case "conversation_message_id":
+                    message.setConversationMessageId(JsonValues.readInteger(in));
+                    break;
+                case "date":
+                    message.setDate(JsonValues.readInteger(in));
+                    break;
+                case "from_id":
+                    message.setFromId(JsonValues.readInteger(in));
+                    break;
+                case "fwd_messages":
+                    message.setFwdMessages(messagesAdapter.read(in));
+                    break;
+                case "geo":
+                    message.setGeo(geoAdapter.read(in));
+                    break;
+                case "id":
+                    message.setId(JsonValues.readInteger(in));
+                    break;
+                case "peer_id":
+                    message.setPeerId(JsonValues.readInteger(in));
+                    break;
+                case "reply_message":
+                    message.setReplyMessage(messageAdapter.read(in));
+                    break;
+                case "text":
+                    message.setText(JsonValues.readString(in));
+                    break;
+                case "update_time":
+                    message.setUpdateTime(JsonValues.readInteger(in));
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+
+        in.endObject();
+        return message;
+    }
+}
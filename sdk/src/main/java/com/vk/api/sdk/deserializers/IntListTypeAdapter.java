@@ -0,0 +1,82 @@
+package com.vk.api.sdk.deserializers;
+
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.vk.api.sdk.objects.base.IntList;
+
+import java.io.IOException;
+
+/**
+ * Decodes arrays of ids straight to {@link IntList}. Array items are either numbers or objects,
+ * ids of objects are read from "id" or "member_id" field and other fields are skipped.
+ */
+public class IntListTypeAdapter extends TypeAdapter<IntList> {
+
+    @Override
+    public void write(JsonWriter out, IntList value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+
+        out.beginArray();
+        for (int i = 0; i < value.size(); i++) {
+            out.value(value.get(i));
+        }
+
+        out.endArray();
+    }
+
+    @Override
+    public IntList read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+
+        IntList list = new IntList();
+        in.beginArray();
+        while (in.hasNext()) {
+            if (in.peek() == JsonToken.BEGIN_OBJECT) {
+                list.add(readId(in));
+            } else {
+                list.add(readInt(in));
+            }
+        }
+
+        in.endArray();
+        return list;
+    }
+
+    private static int readId(JsonReader in) throws IOException {
+        String path = in.getPath();
+        Integer id = null;
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (id == null && ("id".equals(name) || "member_id".equals(name)) && in.peek() == JsonToken.NUMBER) {
+                id = readInt(in);
+            } else {
+                in.skipValue();
+            }
+        }
+
+        in.endObject();
+        if (id == null) {
+            throw new JsonSyntaxException("Item has no id at " + path);
+        }
+
+        return id;
+    }
+
+    private static int readInt(JsonReader in) throws IOException {
+        try {
+            return in.nextInt();
+        } catch (NumberFormatException e) {
+            throw new JsonSyntaxException(e);
+        }
+    }
+}
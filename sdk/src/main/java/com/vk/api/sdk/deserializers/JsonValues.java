@@ -0,0 +1,70 @@
+package com.vk.api.sdk.deserializers;
+
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.vk.api.sdk.objects.base.BoolInt;
+
+import java.io.IOException;
+
+/**
+ * Readers of scalar values accepting the same input as default Gson adapters
+ */
+final class JsonValues {
+
+    private JsonValues() {
+    }
+
+    static Integer readInteger(JsonReader reader) throws IOException {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return null;
+        }
+
+        try {
+            return reader.nextInt();
+        } catch (NumberFormatException e) {
+            throw new JsonSyntaxException(e);
+        }
+    }
+
+    static Boolean readBoolean(JsonReader reader) throws IOException {
+        JsonToken token = reader.peek();
+        if (token == JsonToken.NULL) {
+            reader.nextNull();
+            return null;
+        } else if (token == JsonToken.STRING) {
+            return Boolean.parseBoolean(reader.nextString());
+        }
+
+        return reader.nextBoolean();
+    }
+
+    static String readString(JsonReader reader) throws IOException {
+        JsonToken token = reader.peek();
+        if (token == JsonToken.NULL) {
+            reader.nextNull();
+            return null;
+        } else if (token == JsonToken.BOOLEAN) {
+            return Boolean.toString(reader.nextBoolean());
+        }
+
+        return reader.nextString();
+    }
+
+    static BoolInt readBoolInt(JsonReader reader) throws IOException {
+        String value = readString(reader);
+        if (value == null) {
+            return null;
+        }
+
+        switch (value) {
+            case "0":
+                return BoolInt.NO;
+            case "1":
+                return BoolInt.YES;
+            default:
+                return null;
+        }
+    }
+}
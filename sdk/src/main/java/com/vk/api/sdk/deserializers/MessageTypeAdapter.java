@@ -0,0 +1,153 @@
+package com.vk.api.sdk.deserializers;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.vk.api.sdk.objects.base.Geo;
+import com.vk.api.sdk.objects.messages.ForeignMessage;
+import com.vk.api.sdk.objects.messages.Keyboard;
+import com.vk.api.sdk.objects.messages.Message;
+import com.vk.api.sdk.objects.messages.MessageAction;
+import com.vk.api.sdk.objects.messages.MessageAttachment;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Reads {@link Message} without reflection, writing is delegated to the default adapter
+ */
+public class MessageTypeAdapter extends TypeAdapter<Message> {
+
+    /**
+     * Names of the fields read by this adapter, checked against the fields of {@link Message} by {@link ObjectsTypeAdapterFactory}
+     */
+    static final Set<String> FIELDS = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+            "action", "admin_author_id", "attachments", "conversation_message_id", "date", "deleted", "from_id",
+            "fwd_messages", "geo", "id", "important", "is_hidden", "keyboard", "members_count", "out", "payload",
+            "peer_id", "random_id", "ref", "ref_source", "reply_message", "text", "update_time")));
+
+    private final TypeAdapter<Message> delegate;
+
+    private final TypeAdapter<MessageAction> actionAdapter;
+
+    private final TypeAdapter<List<MessageAttachment>> attachmentsAdapter;
+
+    private final TypeAdapter<List<ForeignMessage>> foreignMessagesAdapter;
+
+    private final TypeAdapter<ForeignMessage> foreignMessageAdapter;
+
+    private final TypeAdapter<Geo> geoAdapter;
+
+    private final TypeAdapter<Keyboard> keyboardAdapter;
+
+    public MessageTypeAdapter(Gson gson, TypeAdapter<Message> delegate) {
+        this.delegate = delegate;
+        this.actionAdapter = gson.getAdapter(MessageAction.class);
+        this.attachmentsAdapter = gson.getAdapter(new TypeToken<List<MessageAttachment>>() {});
+        this.foreignMessagesAdapter = gson.getAdapter(new TypeToken<List<ForeignMessage>>() {});
+        this.foreignMessageAdapter = gson.getAdapter(ForeignMessage.class);
+        this.geoAdapter = gson.getAdapter(Geo.class);
+        this.keyboardAdapter = gson.getAdapter(Keyboard.class);
+    }
+
+    @Override
+    public void write(JsonWriter out, Message value) throws IOException {
+        delegate.write(out, value);
+    }
+
+    @Override
+    public Message read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+
+        Message message = new Message();
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "action":
+                    message.setAction(actionAdapter.read(in));
+                    break;
+                case "admin_author_id":
+                    message.setAdminAuthorId(JsonValues.readInteger(in));
+                    break;
+                case "attachments":
+                    message.setAttachments(attachmentsAdapter.read(in));
+                    break;
+                case "conversation_message_id":
+                    message.setConversationMessageId(JsonValues.readInteger(in));
+                    break;
+                case "date":
+                    message.setDate(JsonValues.readInteger(in));
+                    break;
+                case "deleted":
+                    message.setDeleted(JsonValues.readBoolInt(in));
+                    break;
+                case "from_id":
+                    message.setFromId(JsonValues.readInteger(in));
+                    break;
+                case "fwd_messages":
+                    message.setFwdMessages(foreignMessagesAdapter.read(in));
+                    break;
+                case "geo":
+                    message.setGeo(geoAdapter.read(in));
+                    break;
+                case "id":
+                    message.setId(JsonValues.readInteger(in));
+                    break;
+                case "important":
+                    message.setImportant(JsonValues.readBoolean(in));
+                    break;
+                case "is_hidden":
+                    message.setIsHidden(JsonValues.readBoolean(in));
+                    break;
+                case "keyboard":
+                    message.setKeyboard(keyboardAdapter.read(in));
+                    break;
+                case "members_count":
+                    message.setMembersCount(JsonValues.readInteger(in));
+                    break;
+                case "out":
+                    message.setOut(JsonValues.readBoolInt(in));
+                    break;
+                case "payload":
+                    message.setPayload(JsonValues.readString(in));
+                    break;
+                case "peer_id":
+                    message.setPeerId(JsonValues.readInteger(in));
+                    break;
+                case "random_id":
+                    message.setRandomId(JsonValues.readInteger(in));
+                    break;
+                case "ref":
+                    message.setRef(JsonValues.readString(in));
+                    break;
+                case "ref_source":
+                    message.setRefSource(JsonValues.readString(in));
+                    break;
+                case "reply_message":
+                    message.setReplyMessage(foreignMessageAdapter.read(in));
+                    break;
+                case "text":
+                    message.setText(JsonValues.readString(in));
+                    break;
+                case "update_time":
+                    message.setUpdateTime(JsonValues.readInteger(in));
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+
+        in.endObject();
+        return message;
+    }
+}
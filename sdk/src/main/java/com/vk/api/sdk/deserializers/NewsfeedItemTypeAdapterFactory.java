@@ -0,0 +1,119 @@
+package com.vk.api.sdk.deserializers;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import com.vk.api.sdk.objects.newsfeed.ItemAudio;
+import com.vk.api.sdk.objects.newsfeed.ItemBase;
+import com.vk.api.sdk.objects.newsfeed.ItemDigest;
+import com.vk.api.sdk.objects.newsfeed.ItemFriend;
+import com.vk.api.sdk.objects.newsfeed.ItemNote;
+import com.vk.api.sdk.objects.newsfeed.ItemPhoto;
+import com.vk.api.sdk.objects.newsfeed.ItemPhotoTag;
+import com.vk.api.sdk.objects.newsfeed.ItemPromoButton;
+import com.vk.api.sdk.objects.newsfeed.ItemStoriesBlock;
+import com.vk.api.sdk.objects.newsfeed.ItemTopic;
+import com.vk.api.sdk.objects.newsfeed.ItemVideo;
+import com.vk.api.sdk.objects.newsfeed.ItemWallpost;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Decodes newsfeed items to the subclass of {@link ItemBase} matching the "type" field.
+ * Items of unknown types are decoded as {@link ItemBase}.
+ */
+public class NewsfeedItemTypeAdapterFactory implements TypeAdapterFactory {
+
+    private static final String TYPE_KEY = "type";
+
+    private static final Map<String, Class<? extends ItemBase>> SUBTYPES = new HashMap<>();
+
+    static {
+        SUBTYPES.put("post", ItemWallpost.class);
+        SUBTYPES.put("photo", ItemPhoto.class);
+        SUBTYPES.put("wall_photo", ItemPhoto.class);
+        SUBTYPES.put("photo_tag", ItemPhotoTag.class);
+        SUBTYPES.put("friend", ItemFriend.class);
+        SUBTYPES.put("note", ItemNote.class);
+        SUBTYPES.put("audio", ItemAudio.class);
+        SUBTYPES.put("video", ItemVideo.class);
+        SUBTYPES.put("topic", ItemTopic.class);
+        SUBTYPES.put("digest", ItemDigest.class);
+        SUBTYPES.put("stories", ItemStoriesBlock.class);
+        SUBTYPES.put("promo_button", ItemPromoButton.class);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+        if (type.getRawType() != ItemBase.class) {
+            return null;
+        }
+
+        return (TypeAdapter<T>) new NewsfeedItemTypeAdapter(gson, gson.getDelegateAdapter(this, TypeToken.get(ItemBase.class))).nullSafe();
+    }
+
+    /**
+     * Get class of newsfeed item of the type
+     *
+     * @param type value of "type" field
+     * @return subclass of {@link ItemBase}, or {@link ItemBase} for unknown types
+     */
+    public static Class<? extends ItemBase> getItemClass(String type) {
+        return type != null ? SUBTYPES.getOrDefault(type, ItemBase.class) : ItemBase.class;
+    }
+
+    private static final class NewsfeedItemTypeAdapter extends TypeAdapter<ItemBase> {
+
+        private final Gson gson;
+
+        private final TypeAdapter<JsonElement> treeAdapter;
+
+        private final TypeAdapter<ItemBase> baseAdapter;
+
+        private final Map<Class<? extends ItemBase>, TypeAdapter<? extends ItemBase>> adapters = new HashMap<>();
+
+        NewsfeedItemTypeAdapter(Gson gson, TypeAdapter<ItemBase> baseAdapter) {
+            this.gson = gson;
+            this.treeAdapter = gson.getAdapter(JsonElement.class);
+            this.baseAdapter = baseAdapter;
+        }
+
+        @Override
+        public ItemBase read(JsonReader in) throws IOException {
+            // The type may follow other fields, so the item is read to a tree which is dropped right after decoding
+            JsonElement tree = treeAdapter.read(in);
+            if (!tree.isJsonObject()) {
+                throw new JsonSyntaxException("Newsfeed item is not an object: " + tree);
+            }
+
+            JsonElement type = ((JsonObject) tree).get(TYPE_KEY);
+            String name = type != null && type.isJsonPrimitive() ? type.getAsString() : null;
+            return adapterOf(getItemClass(name)).fromJsonTree(tree);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void write(JsonWriter out, ItemBase value) throws IOException {
+            ((TypeAdapter<ItemBase>) adapterOf(value.getClass())).write(out, value);
+        }
+
+        private TypeAdapter<? extends ItemBase> adapterOf(Class<? extends ItemBase> itemClass) {
+            if (itemClass == ItemBase.class) {
+                return baseAdapter;
+            }
+
+            synchronized (adapters) {
+                return adapters.computeIfAbsent(itemClass, gson::getAdapter);
+            }
+        }
+    }
+}
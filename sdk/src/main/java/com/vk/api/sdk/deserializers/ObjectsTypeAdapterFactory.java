@@ -0,0 +1,63 @@
+package com.vk.api.sdk.deserializers;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.annotations.SerializedName;
+import com.google.gson.reflect.TypeToken;
+import com.vk.api.sdk.objects.messages.ForeignMessage;
+import com.vk.api.sdk.objects.messages.Message;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Provides reflection-free adapters for frequently decoded objects, other objects use the default adapters
+ */
+public class ObjectsTypeAdapterFactory implements TypeAdapterFactory {
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+        Class<? super T> rawType = type.getRawType();
+        if (rawType == Message.class) {
+            checkFields(Message.class, MessageTypeAdapter.FIELDS);
+            return (TypeAdapter<T>) new MessageTypeAdapter(gson, gson.getDelegateAdapter(this, TypeToken.get(Message.class)));
+        } else if (rawType == ForeignMessage.class) {
+            checkFields(ForeignMessage.class, ForeignMessageTypeAdapter.FIELDS);
+            return (TypeAdapter<T>) new ForeignMessageTypeAdapter(gson, gson.getDelegateAdapter(this, TypeToken.get(ForeignMessage.class)));
+        }
+
+        return null;
+    }
+
+    /**
+     * Fail if the adapter doesn't read exactly the serialized fields of the class, so fields added to
+     * the generated class are not silently dropped on reading
+     *
+     * @throws IllegalStateException if the fields differ
+     */
+    private static void checkFields(Class<?> objectClass, Set<String> adapterFields) {
+        Set<String> fields = new HashSet<>();
+        for (Class<?> c = objectClass; c != Object.class; c = c.getSuperclass()) {
+            for (Field field : c.getDeclaredFields()) {
+                SerializedName name = field.getAnnotation(SerializedName.class);
+                if (name != null && !Modifier.isStatic(field.getModifiers()) && !Modifier.isTransient(field.getModifiers())) {
+                    fields.add(name.value());
+                }
+            }
+        }
+
+        if (!fields.equals(adapterFields)) {
+            Set<String> missing = new TreeSet<>(fields);
+            missing.removeAll(adapterFields);
+            Set<String> unknown = new TreeSet<>(adapterFields);
+            unknown.removeAll(fields);
+            throw new IllegalStateException("Adapter of " + objectClass.getName() + " is out of date, missing fields: "
+                    + missing + ", unknown fields: " + unknown);
+        }
+    }
+}
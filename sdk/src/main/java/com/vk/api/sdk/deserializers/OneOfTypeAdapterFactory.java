@@ -0,0 +1,66 @@
+package com.vk.api.sdk.deserializers;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import com.vk.api.sdk.oneofs.GroupsBannedItemOneOf;
+import com.vk.api.sdk.oneofs.NewsfeedNewsfeedItemOneOf;
+import com.vk.api.sdk.oneofs.UsersSubscriptionsItemOneOf;
+
+import java.io.IOException;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Wraps objects to oneofs once while the response is decoded, so the variants are decoded with the Gson
+ * of the client and cached for the lifetime of the response
+ */
+public class OneOfTypeAdapterFactory implements TypeAdapterFactory {
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+        Class<? super T> rawType = type.getRawType();
+        if (rawType == NewsfeedNewsfeedItemOneOf.class) {
+            return (TypeAdapter<T>) new OneOfTypeAdapter<>(gson, NewsfeedNewsfeedItemOneOf::new, NewsfeedNewsfeedItemOneOf::getRaw).nullSafe();
+        } else if (rawType == GroupsBannedItemOneOf.class) {
+            return (TypeAdapter<T>) new OneOfTypeAdapter<>(gson, GroupsBannedItemOneOf::new, GroupsBannedItemOneOf::getRaw).nullSafe();
+        } else if (rawType == UsersSubscriptionsItemOneOf.class) {
+            return (TypeAdapter<T>) new OneOfTypeAdapter<>(gson, UsersSubscriptionsItemOneOf::new, UsersSubscriptionsItemOneOf::getRaw).nullSafe();
+        }
+
+        return null;
+    }
+
+    private static final class OneOfTypeAdapter<T> extends TypeAdapter<T> {
+
+        private final Gson gson;
+
+        private final TypeAdapter<JsonObject> objectAdapter;
+
+        private final BiFunction<JsonObject, Gson, T> constructor;
+
+        private final Function<T, JsonObject> raw;
+
+        OneOfTypeAdapter(Gson gson, BiFunction<JsonObject, Gson, T> constructor, Function<T, JsonObject> raw) {
+            this.gson = gson;
+            this.objectAdapter = gson.getAdapter(JsonObject.class);
+            this.constructor = constructor;
+            this.raw = raw;
+        }
+
+        @Override
+        public T read(JsonReader in) throws IOException {
+            return constructor.apply(objectAdapter.read(in), gson);
+        }
+
+        @Override
+        public void write(JsonWriter out, T value) throws IOException {
+            objectAdapter.write(out, raw.apply(value));
+        }
+    }
+}
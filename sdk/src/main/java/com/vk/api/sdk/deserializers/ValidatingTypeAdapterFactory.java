@@ -0,0 +1,59 @@
+package com.vk.api.sdk.deserializers;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import com.vk.api.sdk.exceptions.RequiredFieldException;
+import com.vk.api.sdk.objects.Validable;
+
+import java.io.IOException;
+
+/**
+ * Checks required fields of {@link Validable} objects right after they are decoded.
+ * Objects missing required fields fail decoding with {@link JsonSyntaxException}.
+ */
+public class ValidatingTypeAdapterFactory implements TypeAdapterFactory {
+
+    @Override
+    public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+        if (!Validable.class.isAssignableFrom(type.getRawType())) {
+            return null;
+        }
+
+        return new ValidatingTypeAdapter<>(gson.getDelegateAdapter(this, type));
+    }
+
+    private static final class ValidatingTypeAdapter<T> extends TypeAdapter<T> {
+
+        private final TypeAdapter<T> delegate;
+
+        ValidatingTypeAdapter(TypeAdapter<T> delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void write(JsonWriter out, T value) throws IOException {
+            delegate.write(out, value);
+        }
+
+        @Override
+        public T read(JsonReader in) throws IOException {
+            T value = delegate.read(in);
+            if (value != null) {
+                try {
+                    ((Validable) value).validateRequired();
+                } catch (RequiredFieldException e) {
+                    throw new JsonSyntaxException("Required field is missing: " + e.getFieldName(), e);
+                } catch (ReflectiveOperationException e) {
+                    throw new JsonSyntaxException("Can't validate " + value.getClass().getName(), e);
+                }
+            }
+
+            return value;
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.vk.api.sdk.exceptions;
+
+public class LongPollServerInfoLostException extends ApiException {
+
+    private static final long serialVersionUID = 1L;
+
+    public LongPollServerInfoLostException(String message) {
+        super(3, "Long poll server information lost", message);
+    }
+}
@@ -1,7 +1,24 @@
 package com.vk.api.sdk.exceptions;
 
 public class LongPollServerTsException extends ApiException {
+
+    private final Integer ts;
+
     public LongPollServerTsException(String message) {
+        this(message, null);
+    }
+
+    public LongPollServerTsException(String message, Integer ts) {
         super(1, "Incorrect \'ts\' value", message);
+        this.ts = ts;
+    }
+
+    /**
+     * Get ts to continue polling from, events before it are lost
+     *
+     * @return ts returned by long poll server or null if the response has no ts
+     */
+    public Integer getTs() {
+        return ts;
     }
 }
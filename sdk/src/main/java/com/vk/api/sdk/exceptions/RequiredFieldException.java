@@ -13,6 +13,10 @@ public class RequiredFieldException extends Exception {
         this.fieldName = fieldName;
     }
 
+    public String getFieldName() {
+        return fieldName;
+    }
+
     @Override
     public String toString() {
         return this.getClass().getName() + "\n" + fieldName + " " + (localisedErrorMessage != null ? localisedErrorMessage : " cannot be null");
@@ -0,0 +1,264 @@
+package com.vk.api.sdk.httpclient;
+
+import com.vk.api.sdk.client.AsyncTransportClient;
+import com.vk.api.sdk.client.ClientResponse;
+import com.vk.api.sdk.client.TransportClient;
+import org.apache.http.HttpStatus;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.asynchttpclient.AsyncHttpClient;
+import org.asynchttpclient.BoundRequestBuilder;
+import org.asynchttpclient.DefaultAsyncHttpClient;
+import org.asynchttpclient.DefaultAsyncHttpClientConfig;
+import org.asynchttpclient.ListenableFuture;
+import org.asynchttpclient.Response;
+import org.asynchttpclient.request.body.multipart.FilePart;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Transport client based on async-http-client. Implements both blocking and non-blocking transports,
+ * so {@link com.vk.api.sdk.client.ApiRequest#executeAsync()} does not hold a thread per request.
+ */
+public class AsyncHttpTransportClient implements TransportClient, AsyncTransportClient, Closeable {
+
+    private static final Logger LOG = LogManager.getLogger(AsyncHttpTransportClient.class);
+
+    private static final String FORM_CONTENT_TYPE = "application/x-www-form-urlencoded";
+    private static final String CONTENT_TYPE_HEADER = "Content-Type";
+    private static final String USER_AGENT = "Java VK SDK/1.0";
+
+    private static final int MAX_SIMULTANEOUS_CONNECTIONS = 300;
+    private static final int DEFAULT_RETRY_ATTEMPTS_NETWORK_ERROR_COUNT = 3;
+    private static final int DEFAULT_RETRY_INVALID_STATUS_COUNT = 3;
+    private static final int FULL_CONNECTION_TIMEOUT_S = 60;
+    private static final int CONNECTION_TIMEOUT_MS = 5_000;
+    private static final int SOCKET_TIMEOUT_MS = FULL_CONNECTION_TIMEOUT_S * 1000;
+
+    private final AsyncHttpClient asyncHttpClient;
+
+    private final int retryAttemptsNetworkErrorCount;
+    private final int retryAttemptsInvalidStatusCount;
+
+    public AsyncHttpTransportClient() {
+        this(DEFAULT_RETRY_ATTEMPTS_NETWORK_ERROR_COUNT, DEFAULT_RETRY_INVALID_STATUS_COUNT);
+    }
+
+    public AsyncHttpTransportClient(int retryAttemptsNetworkErrorCount, int retryAttemptsInvalidStatusCount) {
+        this(new DefaultAsyncHttpClient(new DefaultAsyncHttpClientConfig.Builder()
+                .setConnectTimeout(CONNECTION_TIMEOUT_MS)
+                .setReadTimeout(SOCKET_TIMEOUT_MS)
+                .setRequestTimeout(SOCKET_TIMEOUT_MS)
+                .setMaxConnections(MAX_SIMULTANEOUS_CONNECTIONS)
+                .setMaxConnectionsPerHost(MAX_SIMULTANEOUS_CONNECTIONS)
+                .setUserAgent(USER_AGENT)
+                .build()), retryAttemptsNetworkErrorCount, retryAttemptsInvalidStatusCount);
+    }
+
+    public AsyncHttpTransportClient(AsyncHttpClient asyncHttpClient, int retryAttemptsNetworkErrorCount, int retryAttemptsInvalidStatusCount) {
+        this.asyncHttpClient = asyncHttpClient;
+        this.retryAttemptsNetworkErrorCount = retryAttemptsNetworkErrorCount;
+        this.retryAttemptsInvalidStatusCount = retryAttemptsInvalidStatusCount;
+    }
+
+    private static Map<String, String> getHeaders(Response response) {
+        Map<String, String> result = new HashMap<>();
+        for (Map.Entry<String, String> header : response.getHeaders()) {
+            result.put(header.getKey(), header.getValue());
+        }
+
+        return result;
+    }
+
+    private static boolean isInvalidGatewayStatus(int status) {
+        return status == HttpStatus.SC_BAD_GATEWAY || status == HttpStatus.SC_GATEWAY_TIMEOUT;
+    }
+
+    private static ClientResponse await(CompletableFuture<ClientResponse> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw new IOException("Request interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+
+            throw new IOException(e.getCause());
+        }
+    }
+
+    private CompletableFuture<ClientResponse> callWithStatusCheck(Supplier<BoundRequestBuilder> request) {
+        CompletableFuture<ClientResponse> result = new CompletableFuture<>();
+        AtomicReference<ListenableFuture<Response>> current = new AtomicReference<>();
+        call(request, result, current, 1, 1);
+
+        result.whenComplete((response, e) -> {
+            ListenableFuture<Response> future = current.get();
+            if (result.isCancelled() && future != null) {
+                future.abort(new IOException("Request cancelled"));
+            }
+        });
+
+        return result;
+    }
+
+    private void call(Supplier<BoundRequestBuilder> request, CompletableFuture<ClientResponse> result,
+                      AtomicReference<ListenableFuture<Response>> current, int networkAttempt, int statusAttempt) {
+        long startTime = System.currentTimeMillis();
+        ListenableFuture<Response> future = request.get().execute();
+        current.set(future);
+
+        future.toCompletableFuture().whenComplete((response, e) -> {
+            if (result.isDone()) {
+                return;
+            }
+
+            if (e == null) {
+                LOG.info("Request: " + response.getUri() + "\t\t" + (System.currentTimeMillis() - startTime));
+                if (statusAttempt < retryAttemptsInvalidStatusCount && isInvalidGatewayStatus(response.getStatusCode())) {
+                    call(request, result, current, networkAttempt, statusAttempt + 1);
+                    return;
+                }
+
+                result.complete(new ClientResponse(response.getStatusCode(),
+                        response.getResponseBodyAsBytes(), getHeaders(response)));
+                return;
+            }
+
+            Throwable cause = e instanceof CompletionException ? e.getCause() : e;
+            if (cause instanceof IOException && networkAttempt < retryAttemptsNetworkErrorCount) {
+                LOG.warn("Network troubles", cause);
+                call(request, result, current, networkAttempt + 1, statusAttempt);
+                return;
+            }
+
+            result.completeExceptionally(cause);
+        });
+    }
+
+    @Override
+    public CompletableFuture<ClientResponse> getAsync(String url) {
+        return getAsync(url, FORM_CONTENT_TYPE);
+    }
+
+    @Override
+    public CompletableFuture<ClientResponse> getAsync(String url, String contentType) {
+        return callWithStatusCheck(() -> asyncHttpClient.prepareGet(url)
+                .setHeader(CONTENT_TYPE_HEADER, contentType));
+    }
+
+    @Override
+    public CompletableFuture<ClientResponse> postAsync(String url) {
+        return postAsync(url, null);
+    }
+
+    @Override
+    public CompletableFuture<ClientResponse> postAsync(String url, String body) {
+        return postAsync(url, body, FORM_CONTENT_TYPE);
+    }
+
+    @Override
+    public CompletableFuture<ClientResponse> postAsync(String url, String body, String contentType) {
+        return callWithStatusCheck(() -> {
+            BoundRequestBuilder request = asyncHttpClient.preparePost(url)
+                    .setHeader(CONTENT_TYPE_HEADER, contentType);
+            if (body != null) {
+                request.setBody(body.getBytes(StandardCharsets.UTF_8));
+            }
+
+            return request;
+        });
+    }
+
+    @Override
+    public CompletableFuture<ClientResponse> postAsync(String url, String fileName, File file) {
+        return callWithStatusCheck(() -> asyncHttpClient.preparePost(url)
+                .addBodyPart(new FilePart(fileName, file)));
+    }
+
+    @Override
+    public CompletableFuture<ClientResponse> deleteAsync(String url) {
+        return deleteAsync(url, null, FORM_CONTENT_TYPE);
+    }
+
+    @Override
+    public CompletableFuture<ClientResponse> deleteAsync(String url, String body) {
+        return deleteAsync(url, body, FORM_CONTENT_TYPE);
+    }
+
+    @Override
+    public CompletableFuture<ClientResponse> deleteAsync(String url, String body, String contentType) {
+        return callWithStatusCheck(() -> {
+            BoundRequestBuilder request = asyncHttpClient.prepareDelete(url)
+                    .setHeader(CONTENT_TYPE_HEADER, contentType);
+            if (body != null) {
+                request.setBody(body.getBytes(StandardCharsets.UTF_8));
+            }
+
+            return request;
+        });
+    }
+
+    @Override
+    public ClientResponse get(String url) throws IOException {
+        return await(getAsync(url));
+    }
+
+    @Override
+    public ClientResponse get(String url, String contentType) throws IOException {
+        return await(getAsync(url, contentType));
+    }
+
+    @Override
+    public ClientResponse post(String url) throws IOException {
+        return await(postAsync(url));
+    }
+
+    @Override
+    public ClientResponse post(String url, String body) throws IOException {
+        return await(postAsync(url, body));
+    }
+
+    @Override
+    public ClientResponse post(String url, String body, String contentType) throws IOException {
+        return await(postAsync(url, body, contentType));
+    }
+
+    @Override
+    public ClientResponse post(String url, String fileName, File file) throws IOException {
+        return await(postAsync(url, fileName, file));
+    }
+
+    @Override
+    public ClientResponse delete(String url) throws IOException {
+        return await(deleteAsync(url));
+    }
+
+    @Override
+    public ClientResponse delete(String url, String body) throws IOException {
+        return await(deleteAsync(url, body));
+    }
+
+    @Override
+    public ClientResponse delete(String url, String body, String contentType) throws IOException {
+        return await(deleteAsync(url, body, contentType));
+    }
+
+    @Override
+    public void close() throws IOException {
+        asyncHttpClient.close();
+    }
+}
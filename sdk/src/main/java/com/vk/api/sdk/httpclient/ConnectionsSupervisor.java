@@ -1,62 +1,43 @@
 package com.vk.api.sdk.httpclient;
 
-import com.vk.api.sdk.queries.oauth.OAuthQueryBuilder;
 import org.apache.http.client.methods.HttpUriRequest;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-import java.time.Instant;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 /**
+ * Aborts requests that have not completed before their deadline. Each request gets its own timer task,
+ * so registering and cancelling a deadline does not depend on the number of in-flight requests.
+ *
  * Created by Anton Tsivarev on 11.09.15.
  */
-public class ConnectionsSupervisor extends Thread {
+public class ConnectionsSupervisor {
 
     private static final Logger LOG = LogManager.getLogger(ConnectionsSupervisor.class);
 
-    private static final int FULL_CONNECTION_TIMEOUT_S = 60;
-    private static final int WAIT_BEFORE_KILL_REQUEST_S = 10;
-    private static final int CONNECTIONS_SUPERVISOR_WAIT_MS = 1000;
-
-    private final Map<HttpUriRequest, Long> streams = new ConcurrentHashMap<>();
+    private final ScheduledThreadPoolExecutor scheduler;
 
     ConnectionsSupervisor() {
-        setDaemon(true);
-        setName("Connections supervisor");
-    }
+        scheduler = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "Connections supervisor");
+            thread.setDaemon(true);
+            return thread;
+        });
 
-    @Override
-    public void run() {
-        while (true) {
-            try {
-                Thread.sleep(CONNECTIONS_SUPERVISOR_WAIT_MS);
-            } catch (InterruptedException ignored) {
-                //nop
-            }
-
-            long time = Instant.now().getEpochSecond();
-            streams.entrySet().stream().filter(entry -> time > entry.getValue()).forEach(entry -> {
-                HttpUriRequest request = entry.getKey();
-                // double check
-                if (streams.containsKey(request)) {
-                    LOG.error(String.format("HttpUriRequest killed after timeout (%d sec.) exceeded: %s",
-                            FULL_CONNECTION_TIMEOUT_S,
-                            request));
-
-                    request.abort();
-                    removeRequest(request);
-                }
-            });
-        }
+        scheduler.setRemoveOnCancelPolicy(true);
     }
 
-    void addRequest(HttpUriRequest request) {
-        streams.put(request, Instant.now().getEpochSecond() + FULL_CONNECTION_TIMEOUT_S + WAIT_BEFORE_KILL_REQUEST_S);
+    ScheduledFuture<?> addRequest(HttpUriRequest request, long timeoutMs) {
+        return scheduler.schedule(() -> {
+            LOG.error(String.format("HttpUriRequest killed after timeout (%d ms.) exceeded: %s", timeoutMs, request));
+            request.abort();
+        }, timeoutMs, TimeUnit.MILLISECONDS);
     }
 
-    void removeRequest(HttpUriRequest request) {
-        streams.remove(request);
+    void removeRequest(ScheduledFuture<?> deadline) {
+        deadline.cancel(false);
     }
 }
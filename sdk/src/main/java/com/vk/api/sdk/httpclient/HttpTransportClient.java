@@ -6,24 +6,30 @@ import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.http.Header;
 import org.apache.http.HttpEntity;
+import org.apache.http.HttpHost;
 import org.apache.http.HttpResponse;
 import org.apache.http.HttpStatus;
 import org.apache.http.client.CookieStore;
-import org.apache.http.client.HttpClient;
 import org.apache.http.client.config.CookieSpecs;
 import org.apache.http.client.config.RequestConfig;
 import org.apache.http.client.methods.HttpGet;
 import org.apache.http.client.methods.HttpPost;
 import org.apache.http.client.methods.HttpRequestBase;
+import org.apache.http.config.SocketConfig;
+import org.apache.http.conn.routing.HttpRoute;
 import org.apache.http.entity.StringEntity;
 import org.apache.http.entity.mime.MultipartEntityBuilder;
 import org.apache.http.entity.mime.content.FileBody;
 import org.apache.http.impl.client.BasicCookieStore;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClientBuilder;
 import org.apache.http.impl.client.HttpClients;
 import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.io.Closeable;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
@@ -31,11 +37,16 @@ import java.net.SocketException;
 import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 /**
  * Created by Anton Tsivarev on 11.09.15.
  */
-public class HttpTransportClient implements TransportClient {
+public class HttpTransportClient implements TransportClient, Closeable {
 
     private static final Logger LOG = LogManager.getLogger(HttpTransportClient.class);
 
@@ -46,47 +57,103 @@ public class HttpTransportClient implements TransportClient {
 
     private static final String EMPTY_PAYLOAD = "-";
 
+    private static final String HTTPS_SCHEME = "https";
+    private static final int HTTPS_PORT = 443;
+
     private static final int MAX_SIMULTANEOUS_CONNECTIONS = 300;
     private static final int DEFAULT_RETRY_ATTEMPTS_NETWORK_ERROR_COUNT = 3;
     private static final int DEFAULT_RETRY_INVALID_STATUS_COUNT = 3;
     private static final int FULL_CONNECTION_TIMEOUT_S = 60;
     private static final int CONNECTION_TIMEOUT_MS = 5_000;
     private static final int SOCKET_TIMEOUT_MS = FULL_CONNECTION_TIMEOUT_S * 1000;
+    private static final int MAX_IDLE_TIME_MS = 30_000;
+    private static final int UPLOAD_TIMEOUT_MS = 180_000;
+    private static final int DEADLINE_GRACE_MS = 10_000;
+
+    private static final Pattern WAIT_PARAM_PATTERN = Pattern.compile("(?:^|&)wait=(\\d+)");
 
     private static final ConnectionsSupervisor SUPERVISOR = new ConnectionsSupervisor();
     private static HttpTransportClient instance;
-    private static HttpClient httpClient;
+
+    private final CloseableHttpClient httpClient;
+
+    /**
+     * Requests being executed by threads
+     */
+    private final Map<Thread, HttpRequestBase> activeRequests = new ConcurrentHashMap<>();
 
     private int retryAttemptsNetworkErrorCount;
     private int retryAttemptsInvalidStatusCount;
 
+    private final long defaultDeadlineMs;
+    private final long uploadDeadlineMs;
+
     public HttpTransportClient() {
         this(DEFAULT_RETRY_ATTEMPTS_NETWORK_ERROR_COUNT, DEFAULT_RETRY_INVALID_STATUS_COUNT);
     }
 
     public HttpTransportClient(int retryAttemptsNetworkErrorCount, int retryAttemptsInvalidStatusCount) {
-        this.retryAttemptsNetworkErrorCount = retryAttemptsNetworkErrorCount;
-        this.retryAttemptsInvalidStatusCount = retryAttemptsInvalidStatusCount;
+        this(newBuilder()
+                .retryAttemptsNetworkErrorCount(retryAttemptsNetworkErrorCount)
+                .retryAttemptsInvalidStatusCount(retryAttemptsInvalidStatusCount));
+    }
+
+    private HttpTransportClient(Builder builder) {
+        this.retryAttemptsNetworkErrorCount = builder.retryAttemptsNetworkErrorCount;
+        this.retryAttemptsInvalidStatusCount = builder.retryAttemptsInvalidStatusCount;
+        this.defaultDeadlineMs = builder.socketTimeoutMs + DEADLINE_GRACE_MS;
+        this.uploadDeadlineMs = builder.uploadTimeoutMs;
 
         CookieStore cookieStore = new BasicCookieStore();
         RequestConfig requestConfig = RequestConfig.custom()
-                .setSocketTimeout(SOCKET_TIMEOUT_MS)
-                .setConnectTimeout(CONNECTION_TIMEOUT_MS)
-                .setConnectionRequestTimeout(CONNECTION_TIMEOUT_MS)
+                .setSocketTimeout(builder.socketTimeoutMs)
+                .setConnectTimeout(builder.connectionTimeoutMs)
+                .setConnectionRequestTimeout(builder.connectionRequestTimeoutMs)
                 .setCookieSpec(CookieSpecs.STANDARD)
                 .build();
 
+        SocketConfig socketConfig = SocketConfig.custom()
+                .setSoTimeout(builder.socketTimeoutMs)
+                .setTcpNoDelay(builder.tcpNoDelay)
+                .build();
+
         PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
 
-        connectionManager.setMaxTotal(MAX_SIMULTANEOUS_CONNECTIONS);
-        connectionManager.setDefaultMaxPerRoute(MAX_SIMULTANEOUS_CONNECTIONS);
+        connectionManager.setMaxTotal(builder.maxConnections);
+        connectionManager.setDefaultMaxPerRoute(builder.maxConnectionsPerRoute);
+        connectionManager.setDefaultSocketConfig(socketConfig);
+        builder.maxConnectionsPerHost.forEach((host, max) ->
+                connectionManager.setMaxPerRoute(new HttpRoute(new HttpHost(host, HTTPS_PORT, HTTPS_SCHEME), null, true), max));
 
-        httpClient = HttpClients.custom()
+        HttpClientBuilder clientBuilder = HttpClients.custom()
                 .setConnectionManager(connectionManager)
                 .setDefaultRequestConfig(requestConfig)
                 .setDefaultCookieStore(cookieStore)
                 .setUserAgent(USER_AGENT)
-                .build();
+                .evictExpiredConnections();
+
+        if (builder.maxIdleTimeMs > 0) {
+            clientBuilder.evictIdleConnections(builder.maxIdleTimeMs, TimeUnit.MILLISECONDS);
+        }
+
+        if (builder.keepAliveMs > 0) {
+            long keepAliveMs = builder.keepAliveMs;
+            clientBuilder.setKeepAliveStrategy((response, context) -> {
+                long duration = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+                return duration > 0 && duration < keepAliveMs ? duration : keepAliveMs;
+            });
+        }
+
+        httpClient = clientBuilder.build();
+    }
+
+    /**
+     * Creates a builder for transport client with its own connection pool
+     *
+     * @return builder with default settings
+     */
+    public static Builder newBuilder() {
+        return new Builder();
     }
 
     public static HttpTransportClient getInstance() {
@@ -107,11 +174,15 @@ public class HttpTransportClient implements TransportClient {
     }
 
     private ClientResponse callWithStatusCheck(HttpRequestBase request) throws IOException {
+        return callWithStatusCheck(request, defaultDeadlineMs);
+    }
+
+    private ClientResponse callWithStatusCheck(HttpRequestBase request, long deadlineMs) throws IOException {
         ClientResponse response;
         int attempts = 0;
 
         do {
-            response = call(request);
+            response = call(request, deadlineMs);
             attempts++;
         } while (attempts < retryAttemptsInvalidStatusCount && isInvalidGatewayStatus(response.getStatusCode()));
 
@@ -122,12 +193,29 @@ public class HttpTransportClient implements TransportClient {
         return status == HttpStatus.SC_BAD_GATEWAY || status == HttpStatus.SC_GATEWAY_TIMEOUT;
     }
 
-    private ClientResponse call(HttpRequestBase request) throws IOException {
+    /**
+     * Deadline for request with specified query or form body. Long poll requests live for their wait time.
+     *
+     * @param query query string or form body
+     * @return deadline in milliseconds
+     */
+    private long getDeadlineMs(String query) {
+        if (query != null) {
+            Matcher matcher = WAIT_PARAM_PATTERN.matcher(query);
+            if (matcher.find()) {
+                return TimeUnit.SECONDS.toMillis(Long.parseLong(matcher.group(1))) + DEADLINE_GRACE_MS;
+            }
+        }
+
+        return defaultDeadlineMs;
+    }
+
+    private ClientResponse call(HttpRequestBase request, long deadlineMs) throws IOException {
         SocketException exception = null;
         for (int i = 0; i < retryAttemptsNetworkErrorCount; i++) {
+            ScheduledFuture<?> deadline = SUPERVISOR.addRequest(request, deadlineMs);
+            activeRequests.put(Thread.currentThread(), request);
             try {
-                SUPERVISOR.addRequest(request);
-
                 long startTime = System.currentTimeMillis();
 
                 HttpResponse response = httpClient.execute(request);
@@ -137,24 +225,33 @@ public class HttpTransportClient implements TransportClient {
                 long resultTime = endTime - startTime;
 
                 try (InputStream content = response.getEntity().getContent()) {
-                    String result = IOUtils.toString(content, ENCODING);
+                    byte[] result = IOUtils.toByteArray(content);
                     Map<String, String> responseHeaders = getHeaders(response.getAllHeaders());
                     Map<String, String> requestHeaders = getHeaders(request.getAllHeaders());
                     logRequest(request, requestHeaders, response, responseHeaders, result, resultTime);
                     return new ClientResponse(response.getStatusLine().getStatusCode(), result, responseHeaders);
-                } finally {
-                    SUPERVISOR.removeRequest(request);
                 }
             } catch (SocketException e) {
                 logRequest(request);
                 LOG.warn("Network troubles", e);
                 exception = e;
+            } finally {
+                activeRequests.remove(Thread.currentThread());
+                SUPERVISOR.removeRequest(deadline);
             }
         }
 
         throw exception;
     }
 
+    @Override
+    public void abort(Thread thread) {
+        HttpRequestBase request = activeRequests.get(thread);
+        if (request != null) {
+            request.abort();
+        }
+    }
+
     private void logRequest(HttpRequestBase request) throws IOException {
         logRequest(request, null, null, null, null, null);
     }
@@ -179,7 +276,7 @@ public class HttpTransportClient implements TransportClient {
         return IOUtils.toString(postRequest.getEntity().getContent(), StandardCharsets.UTF_8);
     }
 
-    private void logRequest(HttpRequestBase request, Map<String, String> requestHeaders, HttpResponse response, Map<String, String> responseHeaders, String body, Long time) throws IOException {
+    private void logRequest(HttpRequestBase request, Map<String, String> requestHeaders, HttpResponse response, Map<String, String> responseHeaders, byte[] body, Long time) throws IOException {
         if (LOG.isDebugEnabled()) {
             String payload = getRequestPayload(request);
 
@@ -195,7 +292,7 @@ public class HttpTransportClient implements TransportClient {
                 builder.append("Response:\n")
                         .append("\t").append("Status: ").append(response.getStatusLine().toString()).append("\n")
                         .append("\t").append("Headers: ").append(responseHeaders != null ? responseHeaders : "-").append("\n")
-                        .append("\t").append("Body: ").append(body != null ? body : "-").append("\n");
+                        .append("\t").append("Body: ").append(body != null ? new String(body, ENCODING) : "-").append("\n");
             }
 
             LOG.debug(builder.toString());
@@ -218,7 +315,7 @@ public class HttpTransportClient implements TransportClient {
     public ClientResponse get(String url, String contentType) throws IOException {
         HttpGet request = new HttpGet(url);
         request.setHeader(CONTENT_TYPE_HEADER, contentType);
-        return callWithStatusCheck(request);
+        return callWithStatusCheck(request, getDeadlineMs(request.getURI().getRawQuery()));
     }
 
     @Override
@@ -239,7 +336,7 @@ public class HttpTransportClient implements TransportClient {
             request.setEntity(new StringEntity(body, "UTF-8"));
         }
 
-        return callWithStatusCheck(request);
+        return callWithStatusCheck(request, getDeadlineMs(body));
     }
 
     @Override
@@ -251,7 +348,7 @@ public class HttpTransportClient implements TransportClient {
                 .addPart(fileName, fileBody).build();
 
         request.setEntity(entity);
-        return callWithStatusCheck(request);
+        return callWithStatusCheck(request, uploadDeadlineMs);
     }
 
     @Override
@@ -274,4 +371,165 @@ public class HttpTransportClient implements TransportClient {
 
         return callWithStatusCheck(request);
     }
+
+    @Override
+    public void close() throws IOException {
+        httpClient.close();
+    }
+
+    public static class Builder {
+
+        private int retryAttemptsNetworkErrorCount = DEFAULT_RETRY_ATTEMPTS_NETWORK_ERROR_COUNT;
+        private int retryAttemptsInvalidStatusCount = DEFAULT_RETRY_INVALID_STATUS_COUNT;
+        private int maxConnections = MAX_SIMULTANEOUS_CONNECTIONS;
+        private int maxConnectionsPerRoute = MAX_SIMULTANEOUS_CONNECTIONS;
+        private final Map<String, Integer> maxConnectionsPerHost = new HashMap<>();
+        private int connectionTimeoutMs = CONNECTION_TIMEOUT_MS;
+        private int connectionRequestTimeoutMs = CONNECTION_TIMEOUT_MS;
+        private int socketTimeoutMs = SOCKET_TIMEOUT_MS;
+        private long maxIdleTimeMs = MAX_IDLE_TIME_MS;
+        private long keepAliveMs;
+        private boolean tcpNoDelay = true;
+        private long uploadTimeoutMs = UPLOAD_TIMEOUT_MS;
+
+        private Builder() {
+        }
+
+        /**
+         * Number of attempts on network errors
+         *
+         * @param value attempts count
+         * @return a reference to this {@code Builder} object
+         */
+        public Builder retryAttemptsNetworkErrorCount(int value) {
+            retryAttemptsNetworkErrorCount = value;
+            return this;
+        }
+
+        /**
+         * Number of attempts on 502 and 504 responses
+         *
+         * @param value attempts count
+         * @return a reference to this {@code Builder} object
+         */
+        public Builder retryAttemptsInvalidStatusCount(int value) {
+            retryAttemptsInvalidStatusCount = value;
+            return this;
+        }
+
+        /**
+         * Maximum number of pooled connections
+         *
+         * @param value connections count
+         * @return a reference to this {@code Builder} object
+         */
+        public Builder maxConnections(int value) {
+            maxConnections = value;
+            return this;
+        }
+
+        /**
+         * Maximum number of pooled connections per host by default
+         *
+         * @param value connections count
+         * @return a reference to this {@code Builder} object
+         */
+        public Builder maxConnectionsPerRoute(int value) {
+            maxConnectionsPerRoute = value;
+            return this;
+        }
+
+        /**
+         * Maximum number of pooled connections to specified HTTPS host
+         *
+         * @param host  host name, e.g. api.vk.com
+         * @param value connections count
+         * @return a reference to this {@code Builder} object
+         */
+        public Builder maxConnectionsPerRoute(String host, int value) {
+            maxConnectionsPerHost.put(host, value);
+            return this;
+        }
+
+        /**
+         * Timeout for establishing connection
+         *
+         * @param value timeout in milliseconds
+         * @return a reference to this {@code Builder} object
+         */
+        public Builder connectionTimeoutMs(int value) {
+            connectionTimeoutMs = value;
+            return this;
+        }
+
+        /**
+         * Timeout for leasing connection from the pool
+         *
+         * @param value timeout in milliseconds
+         * @return a reference to this {@code Builder} object
+         */
+        public Builder connectionRequestTimeoutMs(int value) {
+            connectionRequestTimeoutMs = value;
+            return this;
+        }
+
+        /**
+         * Timeout for waiting data. Should be greater than long poll wait time.
+         *
+         * @param value timeout in milliseconds
+         * @return a reference to this {@code Builder} object
+         */
+        public Builder socketTimeoutMs(int value) {
+            socketTimeoutMs = value;
+            return this;
+        }
+
+        /**
+         * Time after which idle pooled connections are closed. Zero disables eviction.
+         *
+         * @param value time in milliseconds
+         * @return a reference to this {@code Builder} object
+         */
+        public Builder maxIdleTimeMs(long value) {
+            maxIdleTimeMs = value;
+            return this;
+        }
+
+        /**
+         * Upper bound for keeping connection alive. Zero means keep-alive header of the server is used as is.
+         *
+         * @param value time in milliseconds
+         * @return a reference to this {@code Builder} object
+         */
+        public Builder keepAliveMs(long value) {
+            keepAliveMs = value;
+            return this;
+        }
+
+        /**
+         * Enable or disable TCP_NODELAY
+         *
+         * @param value flag
+         * @return a reference to this {@code Builder} object
+         */
+        public Builder tcpNoDelay(boolean value) {
+            tcpNoDelay = value;
+            return this;
+        }
+
+        /**
+         * Time after which file upload is aborted
+         *
+         * @param value timeout in milliseconds
+         * @return a reference to this {@code Builder} object
+         */
+        public Builder uploadTimeoutMs(long value) {
+            uploadTimeoutMs = value;
+            return this;
+        }
+
+        public HttpTransportClient build() {
+            return new HttpTransportClient(this);
+        }
+    }
 }
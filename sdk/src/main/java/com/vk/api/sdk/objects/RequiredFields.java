@@ -0,0 +1,54 @@
+package com.vk.api.sdk.objects;
+
+import com.vk.api.sdk.exceptions.RequiredFieldException;
+import com.vk.api.sdk.objects.annotations.Required;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Required fields of a class, collected once per class
+ */
+final class RequiredFields {
+
+    private static final ClassValue<RequiredFields> PLANS = new ClassValue<RequiredFields>() {
+        @Override
+        protected RequiredFields computeValue(Class<?> type) {
+            return new RequiredFields(type);
+        }
+    };
+
+    private final Field[] fields;
+
+    private final String[] names;
+
+    private RequiredFields(Class<?> type) {
+        List<Field> required = new ArrayList<>();
+        for (Field field : type.getDeclaredFields()) {
+            Required annotation = field.getAnnotation(Required.class);
+            if (annotation != null && annotation.value()) {
+                field.setAccessible(true);
+                required.add(field);
+            }
+        }
+
+        this.fields = required.toArray(new Field[0]);
+        this.names = new String[fields.length];
+        for (int i = 0; i < fields.length; i++) {
+            names[i] = type.getName() + "." + fields[i].getName();
+        }
+    }
+
+    static RequiredFields of(Class<?> type) {
+        return PLANS.get(type);
+    }
+
+    void check(Object object) throws RequiredFieldException, IllegalAccessException {
+        for (int i = 0; i < fields.length; i++) {
+            if (fields[i].get(object) == null) {
+                throw new RequiredFieldException(names[i]);
+            }
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.vk.api.sdk.objects.account;
 
 import com.google.gson.Gson;
 import com.google.gson.annotations.SerializedName;
+import com.vk.api.sdk.client.GsonHolder;
 import com.vk.api.sdk.objects.Validable;
 import java.util.Objects;
 
@@ -340,7 +341,7 @@ public class AccountCounters implements Validable {
 
     @Override
     public String toString() {
-        final Gson gson = new Gson();
+        final Gson gson = GsonHolder.getGson();
         return gson.toJson(this);
     }
 
@@ -2,6 +2,7 @@ package com.vk.api.sdk.objects.account;
 
 import com.google.gson.Gson;
 import com.google.gson.annotations.SerializedName;
+import com.vk.api.sdk.client.GsonHolder;
 import com.vk.api.sdk.objects.Validable;
 import com.vk.api.sdk.objects.base.BoolInt;
 import java.util.Objects;
@@ -131,7 +132,7 @@ public class Info implements Validable {
 
     @Override
     public String toString() {
-        final Gson gson = new Gson();
+        final Gson gson = GsonHolder.getGson();
         return gson.toJson(this);
     }
 
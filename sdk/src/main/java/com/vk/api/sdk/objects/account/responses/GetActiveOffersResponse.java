@@ -2,6 +2,7 @@ package com.vk.api.sdk.objects.account.responses;
 
 import com.google.gson.Gson;
 import com.google.gson.annotations.SerializedName;
+import com.vk.api.sdk.client.GsonHolder;
 import com.vk.api.sdk.objects.Validable;
 import com.vk.api.sdk.objects.account.Offer;
 import com.vk.api.sdk.objects.annotations.Required;
@@ -57,7 +58,7 @@ public class GetActiveOffersResponse implements Validable {
 
     @Override
     public String toString() {
-        final Gson gson = new Gson();
+        final Gson gson = GsonHolder.getGson();
         return gson.toJson(this);
     }
 
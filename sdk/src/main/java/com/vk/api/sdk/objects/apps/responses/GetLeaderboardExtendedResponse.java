@@ -2,6 +2,7 @@ package com.vk.api.sdk.objects.apps.responses;
 
 import com.google.gson.Gson;
 import com.google.gson.annotations.SerializedName;
+import com.vk.api.sdk.client.GsonHolder;
 import com.vk.api.sdk.objects.Validable;
 import com.vk.api.sdk.objects.apps.Leaderboard;
 import com.vk.api.sdk.objects.users.UserMin;
@@ -68,7 +69,7 @@ public class GetLeaderboardExtendedResponse implements Validable {
 
     @Override
     public String toString() {
-        final Gson gson = new Gson();
+        final Gson gson = GsonHolder.getGson();
         return gson.toJson(this);
     }
 
@@ -0,0 +1,117 @@
+package com.vk.api.sdk.objects.base;
+
+import com.google.gson.annotations.JsonAdapter;
+import com.vk.api.sdk.deserializers.IntListTypeAdapter;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * Growable list of primitive ints, e.g. user or community ids, which doesn't box its elements
+ */
+@JsonAdapter(IntListTypeAdapter.class)
+public class IntList {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private int[] values;
+
+    private int size;
+
+    public IntList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public IntList(int capacity) {
+        this.values = new int[Math.max(capacity, 1)];
+    }
+
+    public IntList(int[] values) {
+        this.values = values.length > 0 ? values.clone() : new int[1];
+        this.size = values.length;
+    }
+
+    /**
+     * Append value to the end of the list
+     *
+     * @param value value
+     * @return a reference to this {@code IntList} object
+     */
+    public IntList add(int value) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, values.length * 2);
+        }
+
+        values[size++] = value;
+        return this;
+    }
+
+    public int get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size);
+        }
+
+        return values[index];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int[] toArray() {
+        return Arrays.copyOf(values, size);
+    }
+
+    public IntStream stream() {
+        return Arrays.stream(values, 0, size);
+    }
+
+    public void forEach(IntConsumer action) {
+        for (int i = 0; i < size; i++) {
+            action.accept(values[i]);
+        }
+    }
+
+    @Override
+    public int hashCode() {
+        int result = 1;
+        for (int i = 0; i < size; i++) {
+            result = 31 * result + values[i];
+        }
+
+        return result;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        IntList intList = (IntList) o;
+        if (size != intList.size) return false;
+        for (int i = 0; i < size; i++) {
+            if (values[i] != intList.values[i]) return false;
+        }
+
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+
+            sb.append(values[i]);
+        }
+
+        sb.append(']');
+        return sb.toString();
+    }
+}
@@ -0,0 +1,71 @@
+package com.vk.api.sdk.objects.base.responses;
+
+import com.google.gson.Gson;
+import com.google.gson.annotations.SerializedName;
+import com.vk.api.sdk.client.GsonHolder;
+import com.vk.api.sdk.objects.Validable;
+import com.vk.api.sdk.objects.annotations.Required;
+import com.vk.api.sdk.objects.base.IntList;
+import java.util.Objects;
+
+/**
+ * Response with total count and ids of items decoded without boxing
+ */
+public class IntListResponse implements Validable {
+    /**
+     * Total number of items
+     */
+    @SerializedName("count")
+    @Required
+    private Integer count;
+
+    @SerializedName("items")
+    @Required
+    private IntList items;
+
+    public Integer getCount() {
+        return count;
+    }
+
+    public IntListResponse setCount(Integer count) {
+        this.count = count;
+        return this;
+    }
+
+    public IntList getItems() {
+        return items;
+    }
+
+    public IntListResponse setItems(IntList items) {
+        this.items = items;
+        return this;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(count, items);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        IntListResponse intListResponse = (IntListResponse) o;
+        return Objects.equals(count, intListResponse.count) &&
+                Objects.equals(items, intListResponse.items);
+    }
+
+    @Override
+    public String toString() {
+        final Gson gson = GsonHolder.getGson();
+        return gson.toJson(this);
+    }
+
+    public String toPrettyString() {
+        final StringBuilder sb = new StringBuilder("IntListResponse{");
+        sb.append("count=").append(count);
+        sb.append(", items=").append(items);
+        sb.append('}');
+        return sb.toString();
+    }
+}
@@ -2,6 +2,7 @@ package com.vk.api.sdk.objects.fave.responses;
 
 import com.google.gson.Gson;
 import com.google.gson.annotations.SerializedName;
+import com.vk.api.sdk.client.GsonHolder;
 import com.vk.api.sdk.objects.Validable;
 import com.vk.api.sdk.objects.fave.Bookmark;
 import com.vk.api.sdk.objects.groups.Group;
@@ -82,7 +83,7 @@ public class GetExtendedResponse implements Validable {
 
     @Override
     public String toString() {
-        final Gson gson = new Gson();
+        final Gson gson = GsonHolder.getGson();
         return gson.toJson(this);
     }
 
@@ -1,14 +1,13 @@
 package com.vk.api.sdk.objects.groups.responses;
 
 import com.google.gson.Gson;
-import com.google.gson.JsonObject;
 import com.google.gson.annotations.SerializedName;
+import com.vk.api.sdk.client.GsonHolder;
 import com.vk.api.sdk.objects.Validable;
 import com.vk.api.sdk.objects.annotations.Required;
 import com.vk.api.sdk.oneofs.GroupsBannedItemOneOf;
 import java.util.List;
 import java.util.Objects;
-import java.util.stream.Collectors;
 
 /**
  * GetBannedResponse object
@@ -23,7 +22,7 @@ public class GetBannedResponse implements Validable {
 
     @SerializedName("items")
     @Required
-    private List<JsonObject> items;
+    private List<GroupsBannedItemOneOf> items;
 
     public Integer getCount() {
         return count;
@@ -35,7 +34,7 @@ public class GetBannedResponse implements Validable {
     }
 
     public List<GroupsBannedItemOneOf> getItems() {
-        return items.stream().map(GroupsBannedItemOneOf::new).collect(Collectors.toList());
+        return items;
     }
 
     @Override
@@ -54,7 +53,7 @@ public class GetBannedResponse implements Validable {
 
     @Override
     public String toString() {
-        final Gson gson = new Gson();
+        final Gson gson = GsonHolder.getGson();
         return gson.toJson(this);
     }
 
@@ -2,6 +2,7 @@ package com.vk.api.sdk.objects.messages;
 
 import com.google.gson.Gson;
 import com.google.gson.annotations.SerializedName;
+import com.vk.api.sdk.client.GsonHolder;
 import com.vk.api.sdk.objects.Validable;
 import com.vk.api.sdk.objects.annotations.Required;
 import com.vk.api.sdk.objects.base.BoolInt;
@@ -181,6 +182,11 @@ public class Message implements Validable {
         return deleted;
     }
 
+    public Message setDeleted(BoolInt deleted) {
+        this.deleted = deleted;
+        return this;
+    }
+
     public Integer getFromId() {
         return fromId;
     }
@@ -261,6 +267,11 @@ public class Message implements Validable {
         return out;
     }
 
+    public Message setOut(BoolInt out) {
+        this.out = out;
+        return this;
+    }
+
     public String getPayload() {
         return payload;
     }
@@ -370,7 +381,7 @@ public class Message implements Validable {
 
     @Override
     public String toString() {
-        final Gson gson = new Gson();
+        final Gson gson = GsonHolder.getGson();
         return gson.toJson(this);
     }
 
@@ -1,7 +1,10 @@
 package com.vk.api.sdk.objects.newsfeed;
 
 import com.google.gson.Gson;
+import com.google.gson.annotations.JsonAdapter;
 import com.google.gson.annotations.SerializedName;
+import com.vk.api.sdk.client.GsonHolder;
+import com.vk.api.sdk.deserializers.NewsfeedItemTypeAdapterFactory;
 import com.vk.api.sdk.objects.Validable;
 import com.vk.api.sdk.objects.annotations.Required;
 import java.util.Objects;
@@ -9,6 +12,7 @@ import java.util.Objects;
 /**
  * ItemBase object
  */
+@JsonAdapter(NewsfeedItemTypeAdapterFactory.class)
 public class ItemBase implements Validable {
     @SerializedName("type")
     @Required
@@ -71,7 +75,7 @@ public class ItemBase implements Validable {
 
     @Override
     public String toString() {
-        final Gson gson = new Gson();
+        final Gson gson = GsonHolder.getGson();
         return gson.toJson(this);
     }
 
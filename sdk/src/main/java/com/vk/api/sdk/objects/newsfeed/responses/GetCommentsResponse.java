@@ -1,8 +1,8 @@
 package com.vk.api.sdk.objects.newsfeed.responses;
 
 import com.google.gson.Gson;
-import com.google.gson.JsonObject;
 import com.google.gson.annotations.SerializedName;
+import com.vk.api.sdk.client.GsonHolder;
 import com.vk.api.sdk.objects.Validable;
 import com.vk.api.sdk.objects.annotations.Required;
 import com.vk.api.sdk.objects.groups.GroupFull;
@@ -10,7 +10,6 @@ import com.vk.api.sdk.objects.users.UserFull;
 import com.vk.api.sdk.oneofs.NewsfeedNewsfeedItemOneOf;
 import java.util.List;
 import java.util.Objects;
-import java.util.stream.Collectors;
 
 /**
  * GetCommentsResponse object
@@ -18,7 +17,7 @@ import java.util.stream.Collectors;
 public class GetCommentsResponse implements Validable {
     @SerializedName("items")
     @Required
-    private List<JsonObject> items;
+    private List<NewsfeedNewsfeedItemOneOf> items;
 
     @SerializedName("profiles")
     @Required
@@ -35,7 +34,7 @@ public class GetCommentsResponse implements Validable {
     private String nextFrom;
 
     public List<NewsfeedNewsfeedItemOneOf> getItems() {
-        return items.stream().map(NewsfeedNewsfeedItemOneOf::new).collect(Collectors.toList());
+        return items;
     }
 
     public List<UserFull> getProfiles() {
@@ -83,7 +82,7 @@ public class GetCommentsResponse implements Validable {
 
     @Override
     public String toString() {
-        final Gson gson = new Gson();
+        final Gson gson = GsonHolder.getGson();
         return gson.toJson(this);
     }
 
@@ -1,22 +1,21 @@
 package com.vk.api.sdk.objects.newsfeed.responses;
 
 import com.google.gson.Gson;
-import com.google.gson.JsonObject;
 import com.google.gson.annotations.SerializedName;
+import com.vk.api.sdk.client.GsonHolder;
 import com.vk.api.sdk.objects.Validable;
 import com.vk.api.sdk.objects.groups.GroupFull;
 import com.vk.api.sdk.objects.users.UserFull;
 import com.vk.api.sdk.oneofs.NewsfeedNewsfeedItemOneOf;
 import java.util.List;
 import java.util.Objects;
-import java.util.stream.Collectors;
 
 /**
  * GetResponse object
  */
 public class GetResponse implements Validable {
     @SerializedName("items")
-    private List<JsonObject> items;
+    private List<NewsfeedNewsfeedItemOneOf> items;
 
     @SerializedName("profiles")
     private List<UserFull> profiles;
@@ -31,7 +30,7 @@ public class GetResponse implements Validable {
     private String nextFrom;
 
     public List<NewsfeedNewsfeedItemOneOf> getItems() {
-        return items.stream().map(NewsfeedNewsfeedItemOneOf::new).collect(Collectors.toList());
+        return items;
     }
 
     public List<UserFull> getProfiles() {
@@ -79,7 +78,7 @@ public class GetResponse implements Validable {
 
     @Override
     public String toString() {
-        final Gson gson = new Gson();
+        final Gson gson = GsonHolder.getGson();
         return gson.toJson(this);
     }
 
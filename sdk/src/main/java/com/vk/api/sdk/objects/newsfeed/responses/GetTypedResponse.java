@@ -0,0 +1,99 @@
+package com.vk.api.sdk.objects.newsfeed.responses;
+
+import com.google.gson.Gson;
+import com.google.gson.annotations.SerializedName;
+import com.vk.api.sdk.client.GsonHolder;
+import com.vk.api.sdk.objects.Validable;
+import com.vk.api.sdk.objects.groups.GroupFull;
+import com.vk.api.sdk.objects.newsfeed.ItemBase;
+import com.vk.api.sdk.objects.users.UserFull;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * GetResponse object with items decoded to subclasses of {@link ItemBase} by type
+ */
+public class GetTypedResponse implements Validable {
+    @SerializedName("items")
+    private List<ItemBase> items;
+
+    @SerializedName("profiles")
+    private List<UserFull> profiles;
+
+    @SerializedName("groups")
+    private List<GroupFull> groups;
+
+    /**
+     * New from value
+     */
+    @SerializedName("next_from")
+    private String nextFrom;
+
+    public List<ItemBase> getItems() {
+        return items;
+    }
+
+    public GetTypedResponse setItems(List<ItemBase> items) {
+        this.items = items;
+        return this;
+    }
+
+    public List<UserFull> getProfiles() {
+        return profiles;
+    }
+
+    public GetTypedResponse setProfiles(List<UserFull> profiles) {
+        this.profiles = profiles;
+        return this;
+    }
+
+    public List<GroupFull> getGroups() {
+        return groups;
+    }
+
+    public GetTypedResponse setGroups(List<GroupFull> groups) {
+        this.groups = groups;
+        return this;
+    }
+
+    public String getNextFrom() {
+        return nextFrom;
+    }
+
+    public GetTypedResponse setNextFrom(String nextFrom) {
+        this.nextFrom = nextFrom;
+        return this;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(profiles, groups, nextFrom, items);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        GetTypedResponse getTypedResponse = (GetTypedResponse) o;
+        return Objects.equals(nextFrom, getTypedResponse.nextFrom) &&
+                Objects.equals(profiles, getTypedResponse.profiles) &&
+                Objects.equals(groups, getTypedResponse.groups) &&
+                Objects.equals(items, getTypedResponse.items);
+    }
+
+    @Override
+    public String toString() {
+        final Gson gson = GsonHolder.getGson();
+        return gson.toJson(this);
+    }
+
+    public String toPrettyString() {
+        final StringBuilder sb = new StringBuilder("GetTypedResponse{");
+        sb.append("nextFrom='").append(nextFrom).append("'");
+        sb.append(", profiles=").append(profiles);
+        sb.append(", groups=").append(groups);
+        sb.append(", items=").append(items);
+        sb.append('}');
+        return sb.toString();
+    }
+}
@@ -2,6 +2,7 @@ package com.vk.api.sdk.objects.secure;
 
 import com.google.gson.Gson;
 import com.google.gson.annotations.SerializedName;
+import com.vk.api.sdk.client.GsonHolder;
 import com.vk.api.sdk.objects.Validable;
 import com.vk.api.sdk.objects.base.responses.OkResponse;
 import java.util.Objects;
@@ -88,7 +89,7 @@ public class TokenChecked implements Validable {
 
     @Override
     public String toString() {
-        final Gson gson = new Gson();
+        final Gson gson = GsonHolder.getGson();
         return gson.toJson(this);
     }
 
@@ -2,6 +2,7 @@ package com.vk.api.sdk.objects.utils.responses;
 
 import com.google.gson.Gson;
 import com.google.gson.annotations.SerializedName;
+import com.vk.api.sdk.client.GsonHolder;
 import com.vk.api.sdk.objects.Validable;
 import com.vk.api.sdk.objects.utils.LastShortenedLink;
 import java.util.List;
@@ -54,7 +55,7 @@ public class GetLastShortenedLinksResponse implements Validable {
 
     @Override
     public String toString() {
-        final Gson gson = new Gson();
+        final Gson gson = GsonHolder.getGson();
         return gson.toJson(this);
     }
 
@@ -2,16 +2,30 @@ package com.vk.api.sdk.oneofs;
 
 import com.google.gson.Gson;
 import com.google.gson.JsonObject;
+import com.google.gson.annotations.JsonAdapter;
+import com.vk.api.sdk.client.GsonHolder;
+import com.vk.api.sdk.deserializers.OneOfTypeAdapterFactory;
 import com.vk.api.sdk.objects.groups.OwnerXtrBanInfo;
+import java.util.Objects;
 
+@JsonAdapter(OneOfTypeAdapterFactory.class)
 public class GroupsBannedItemOneOf {
     private JsonObject data;
 
     private Gson gson;
 
+    /**
+     * Decoded variants by index
+     */
+    private final Object[] oneOfs = new Object[1];
+
     public GroupsBannedItemOneOf(JsonObject data) {
+        this(data, GsonHolder.getGson());
+    }
+
+    public GroupsBannedItemOneOf(JsonObject data, Gson gson) {
         this.data = data;
-        gson = new Gson();
+        this.gson = gson;
     }
 
     public JsonObject getRaw() {
@@ -19,6 +33,34 @@ public class GroupsBannedItemOneOf {
     }
 
     public OwnerXtrBanInfo getOneOf0() {
-        return gson.fromJson(data.toString(), OwnerXtrBanInfo.class);
+        return getOneOf(0, OwnerXtrBanInfo.class);
+    }
+
+    private <T> T getOneOf(int index, Class<T> type) {
+        Object oneOf = oneOfs[index];
+        if (oneOf == null) {
+            oneOf = gson.fromJson(data, type);
+            oneOfs[index] = oneOf;
+        }
+
+        return type.cast(oneOf);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(data);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        GroupsBannedItemOneOf oneOf = (GroupsBannedItemOneOf) o;
+        return Objects.equals(data, oneOf.data);
+    }
+
+    @Override
+    public String toString() {
+        return String.valueOf(data);
     }
 }
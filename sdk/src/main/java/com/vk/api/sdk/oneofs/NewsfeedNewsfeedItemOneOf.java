@@ -2,7 +2,11 @@ package com.vk.api.sdk.oneofs;
 
 import com.google.gson.Gson;
 import com.google.gson.JsonObject;
+import com.google.gson.annotations.JsonAdapter;
+import com.vk.api.sdk.client.GsonHolder;
+import com.vk.api.sdk.deserializers.OneOfTypeAdapterFactory;
 import com.vk.api.sdk.objects.newsfeed.ItemAudio;
+import com.vk.api.sdk.objects.newsfeed.ItemBase;
 import com.vk.api.sdk.objects.newsfeed.ItemDigest;
 import com.vk.api.sdk.objects.newsfeed.ItemFriend;
 import com.vk.api.sdk.objects.newsfeed.ItemNote;
@@ -13,62 +17,110 @@ import com.vk.api.sdk.objects.newsfeed.ItemStoriesBlock;
 import com.vk.api.sdk.objects.newsfeed.ItemTopic;
 import com.vk.api.sdk.objects.newsfeed.ItemVideo;
 import com.vk.api.sdk.objects.newsfeed.ItemWallpost;
+import java.util.Objects;
 
+@JsonAdapter(OneOfTypeAdapterFactory.class)
 public class NewsfeedNewsfeedItemOneOf {
     private JsonObject data;
 
     private Gson gson;
 
+    /**
+     * Decoded variants by index
+     */
+    private final Object[] oneOfs = new Object[11];
+
     public NewsfeedNewsfeedItemOneOf(JsonObject data) {
+        this(data, GsonHolder.getGson());
+    }
+
+    public NewsfeedNewsfeedItemOneOf(JsonObject data, Gson gson) {
         this.data = data;
-        gson = new Gson();
+        this.gson = gson;
     }
 
     public JsonObject getRaw() {
         return data;
     }
 
+    /**
+     * Get item decoded to the subclass of {@link ItemBase} matching its type
+     *
+     * @return news item
+     */
+    public ItemBase getItem() {
+        return gson.fromJson(data, ItemBase.class);
+    }
+
     public ItemWallpost getOneOf0() {
-        return gson.fromJson(data.toString(), ItemWallpost.class);
+        return getOneOf(0, ItemWallpost.class);
     }
 
     public ItemPhoto getOneOf1() {
-        return gson.fromJson(data.toString(), ItemPhoto.class);
+        return getOneOf(1, ItemPhoto.class);
     }
 
     public ItemPhotoTag getOneOf2() {
-        return gson.fromJson(data.toString(), ItemPhotoTag.class);
+        return getOneOf(2, ItemPhotoTag.class);
     }
 
     public ItemFriend getOneOf3() {
-        return gson.fromJson(data.toString(), ItemFriend.class);
+        return getOneOf(3, ItemFriend.class);
     }
 
     public ItemNote getOneOf4() {
-        return gson.fromJson(data.toString(), ItemNote.class);
+        return getOneOf(4, ItemNote.class);
     }
 
     public ItemAudio getOneOf5() {
-        return gson.fromJson(data.toString(), ItemAudio.class);
+        return getOneOf(5, ItemAudio.class);
     }
 
     public ItemVideo getOneOf6() {
-        return gson.fromJson(data.toString(), ItemVideo.class);
+        return getOneOf(6, ItemVideo.class);
     }
 
     public ItemTopic getOneOf7() {
-        return gson.fromJson(data.toString(), ItemTopic.class);
+        return getOneOf(7, ItemTopic.class);
     }
 
     public ItemDigest getOneOf8() {
-        return gson.fromJson(data.toString(), ItemDigest.class);
+        return getOneOf(8, ItemDigest.class);
     }
 
     public ItemPromoButton getOneOf9() {
-        return gson.fromJson(data.toString(), ItemPromoButton.class);
+        return getOneOf(9, ItemPromoButton.class);
     }
 
     public ItemStoriesBlock getOneOf10() {
-        return gson.fromJson(data.toString(), ItemStoriesBlock.class);
+        return getOneOf(10, ItemStoriesBlock.class);
+    }
+
+    private <T> T getOneOf(int index, Class<T> type) {
+        Object oneOf = oneOfs[index];
+        if (oneOf == null) {
+            oneOf = gson.fromJson(data, type);
+            oneOfs[index] = oneOf;
+        }
+
+        return type.cast(oneOf);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(data);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        NewsfeedNewsfeedItemOneOf oneOf = (NewsfeedNewsfeedItemOneOf) o;
+        return Objects.equals(data, oneOf.data);
+    }
+
+    @Override
+    public String toString() {
+        return String.valueOf(data);
     }
 }
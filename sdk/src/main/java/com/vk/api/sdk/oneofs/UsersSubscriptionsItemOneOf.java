@@ -2,17 +2,31 @@ package com.vk.api.sdk.oneofs;
 
 import com.google.gson.Gson;
 import com.google.gson.JsonObject;
+import com.google.gson.annotations.JsonAdapter;
+import com.vk.api.sdk.client.GsonHolder;
+import com.vk.api.sdk.deserializers.OneOfTypeAdapterFactory;
 import com.vk.api.sdk.objects.groups.GroupFull;
 import com.vk.api.sdk.objects.users.UserXtrType;
+import java.util.Objects;
 
+@JsonAdapter(OneOfTypeAdapterFactory.class)
 public class UsersSubscriptionsItemOneOf {
     private JsonObject data;
 
     private Gson gson;
 
+    /**
+     * Decoded variants by index
+     */
+    private final Object[] oneOfs = new Object[2];
+
     public UsersSubscriptionsItemOneOf(JsonObject data) {
+        this(data, GsonHolder.getGson());
+    }
+
+    public UsersSubscriptionsItemOneOf(JsonObject data, Gson gson) {
         this.data = data;
-        gson = new Gson();
+        this.gson = gson;
     }
 
     public JsonObject getRaw() {
@@ -20,10 +34,38 @@ public class UsersSubscriptionsItemOneOf {
     }
 
     public UserXtrType getOneOf0() {
-        return gson.fromJson(data.toString(), UserXtrType.class);
+        return getOneOf(0, UserXtrType.class);
     }
 
     public GroupFull getOneOf1() {
-        return gson.fromJson(data.toString(), GroupFull.class);
+        return getOneOf(1, GroupFull.class);
+    }
+
+    private <T> T getOneOf(int index, Class<T> type) {
+        Object oneOf = oneOfs[index];
+        if (oneOf == null) {
+            oneOf = gson.fromJson(data, type);
+            oneOfs[index] = oneOf;
+        }
+
+        return type.cast(oneOf);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(data);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        UsersSubscriptionsItemOneOf oneOf = (UsersSubscriptionsItemOneOf) o;
+        return Objects.equals(data, oneOf.data);
+    }
+
+    @Override
+    public String toString() {
+        return String.valueOf(data);
     }
 }
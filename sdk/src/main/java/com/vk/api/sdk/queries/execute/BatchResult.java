@@ -0,0 +1,113 @@
+package com.vk.api.sdk.queries.execute;
+
+import com.vk.api.sdk.client.AbstractQueryBuilder;
+import com.vk.api.sdk.exceptions.ApiException;
+import com.vk.api.sdk.exceptions.ClientException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Responses of execute batch requests. Each request either has a response decoded with its response type
+ * or an error, so failed requests can be sent again without repeating the whole batch.
+ */
+public class BatchResult {
+
+    private final List<AbstractQueryBuilder<?, ?>> requests;
+
+    private final Object[] responses;
+
+    private final Exception[] errors;
+
+    BatchResult(List<AbstractQueryBuilder<?, ?>> requests, Object[] responses, Exception[] errors) {
+        this.requests = requests;
+        this.responses = responses;
+        this.errors = errors;
+    }
+
+    public int size() {
+        return requests.size();
+    }
+
+    public List<AbstractQueryBuilder<?, ?>> getRequests() {
+        return requests;
+    }
+
+    public boolean isSuccessful(int index) {
+        return errors[index] == null;
+    }
+
+    public boolean hasErrors() {
+        for (Exception error : errors) {
+            if (error != null) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Get decoded response of request
+     *
+     * @param index index of request in batch
+     * @return response or null if request failed
+     */
+    public Object getResponse(int index) {
+        return responses[index];
+    }
+
+    /**
+     * Get decoded response of request
+     *
+     * @param request request of the batch
+     * @param <R>     type of response
+     * @return response
+     * @throws ApiException    if API returned an error for the request
+     * @throws ClientException if response can't be parsed
+     */
+    @SuppressWarnings("unchecked")
+    public <R> R getResponse(AbstractQueryBuilder<?, R> request) throws ApiException, ClientException {
+        int index = requests.indexOf(request);
+        if (index < 0) {
+            throw new IllegalArgumentException("Request is not part of the batch");
+        }
+
+        Exception error = errors[index];
+        if (error instanceof ApiException) {
+            throw (ApiException) error;
+        }
+
+        if (error instanceof ClientException) {
+            throw (ClientException) error;
+        }
+
+        return (R) responses[index];
+    }
+
+    /**
+     * Get error of request
+     *
+     * @param index index of request in batch
+     * @return {@link ApiException}, {@link ClientException} or null if request succeeded
+     */
+    public Exception getError(int index) {
+        return errors[index];
+    }
+
+    /**
+     * Get requests that failed, e.g. to send them in the next batch
+     *
+     * @return failed requests
+     */
+    public List<AbstractQueryBuilder<?, ?>> getFailedRequests() {
+        List<AbstractQueryBuilder<?, ?>> failed = new ArrayList<>();
+        for (int i = 0; i < errors.length; i++) {
+            if (errors[i] != null) {
+                failed.add(requests.get(i));
+            }
+        }
+
+        return failed;
+    }
+}
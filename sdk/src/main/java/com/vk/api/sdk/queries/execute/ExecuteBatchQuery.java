@@ -1,47 +1,64 @@
 package com.vk.api.sdk.queries.execute;
 
+import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
+import com.google.gson.stream.JsonReader;
 import com.vk.api.sdk.client.AbstractQueryBuilder;
+import com.vk.api.sdk.client.ClientResponse;
 import com.vk.api.sdk.client.VkApiClient;
 import com.vk.api.sdk.client.actors.GroupActor;
 import com.vk.api.sdk.client.actors.UserActor;
-import org.apache.commons.text.translate.CharSequenceTranslator;
-import org.apache.commons.text.translate.LookupTranslator;
+import com.vk.api.sdk.exceptions.ApiException;
+import com.vk.api.sdk.exceptions.ClientException;
+import com.vk.api.sdk.exceptions.ExceptionMapper;
+import com.vk.api.sdk.objects.base.Error;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 
 import java.util.Arrays;
-import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedList;
 import java.util.List;
-import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Query for execute by code
  */
 public class ExecuteBatchQuery extends AbstractQueryBuilder<ExecuteBatchQuery, JsonElement> {
 
+    private static final Logger LOG = LogManager.getLogger(ExecuteBatchQuery.class);
+
+    private AbstractQueryBuilder<?, ?>[] requests;
+
     /**
-     * Translator object for escaping VKScript
+     * Creates a AbstractQueryBuilder instance that can be used to build api request with various parameters
+     *
+     * @param client   VK API client
+     * @param actor    actor with access token
+     * @param requests batch requests
      */
-    private static final CharSequenceTranslator ESCAPE_VKSCRIPT = new LookupTranslator(new HashMap<CharSequence, CharSequence>() {
-        private static final long serialVersionUID = 1L;
-        {
-            put("\"", "\\\"");
-            put("\n", "\\n");
-            put("\r", "\\r");
-            put("\\", "\\\\");
-        }
-    });
+    public ExecuteBatchQuery(VkApiClient client, UserActor actor, AbstractQueryBuilder<?, ?>... requests) {
+        super(client, "execute", JsonElement.class);
+        accessToken(actor.getAccessToken());
+        requests(requests);
+    }
 
     /**
      * Creates a AbstractQueryBuilder instance that can be used to build api request with various parameters
      *
      * @param client   VK API client
      * @param actor    actor with access token
+     * @param template precompiled code of the batch
      * @param requests batch requests
      */
-    public ExecuteBatchQuery(VkApiClient client, UserActor actor, AbstractQueryBuilder... requests) {
+    public ExecuteBatchQuery(VkApiClient client, UserActor actor, ExecuteTemplate template, AbstractQueryBuilder<?, ?>... requests) {
         super(client, "execute", JsonElement.class);
         accessToken(actor.getAccessToken());
-        requests(requests);
+        requests(template, requests);
     }
 
     /**
@@ -51,58 +68,144 @@ public class ExecuteBatchQuery extends AbstractQueryBuilder<ExecuteBatchQuery, J
      * @param actor    actor with access token
      * @param requests batch requests
      */
-    public ExecuteBatchQuery(VkApiClient client, GroupActor actor, AbstractQueryBuilder... requests) {
+    public ExecuteBatchQuery(VkApiClient client, GroupActor actor, AbstractQueryBuilder<?, ?>... requests) {
         super(client, "execute", JsonElement.class);
         accessToken(actor.getAccessToken());
         requests(requests);
     }
 
+    /**
+     * Creates a AbstractQueryBuilder instance that can be used to build api request with various parameters
+     *
+     * @param client   VK API client
+     * @param actor    actor with access token
+     * @param template precompiled code of the batch
+     * @param requests batch requests
+     */
+    public ExecuteBatchQuery(VkApiClient client, GroupActor actor, ExecuteTemplate template, AbstractQueryBuilder<?, ?>... requests) {
+        super(client, "execute", JsonElement.class);
+        accessToken(actor.getAccessToken());
+        requests(template, requests);
+    }
+
     /**
      * Batch requests
      *
      * @param value value of "code" parameter. Minimum is 0.
      * @return a reference to this {@code AbstractQueryBuilder} object to fulfill the "Builder" pattern.
      */
-    protected ExecuteBatchQuery requests(AbstractQueryBuilder... value) {
-        StringBuilder builder = new StringBuilder();
-        builder.append("return [");
-
-        int requestIndex = 0;
-        for (AbstractQueryBuilder request : value) {
-            builder.append("API.").append(request.getMethod()).append("(");
-            Map<String, String> params = new HashMap<>(request.build());
-
-            params.remove("access_token");
-            params.remove("v");
-
-            if (!params.isEmpty()) {
-                builder.append("{");
-                int paramIndex = 0;
-                for (Map.Entry<String, String> param : params.entrySet()) {
-                    builder.append("\"").append(param.getKey()).append("\":").append("\"")
-                            .append(ESCAPE_VKSCRIPT.translate(param.getValue())).append("\"");
-
-                    if (paramIndex < (params.size() - 1)) {
-                        builder.append(",");
-                    }
-
-                    paramIndex++;
-                }
+    protected ExecuteBatchQuery requests(AbstractQueryBuilder<?, ?>... value) {
+        return requests(ExecuteTemplate.compile(value), value);
+    }
 
-                builder.append("}");
+    /**
+     * Batch requests
+     *
+     * @param template precompiled code of the batch
+     * @param value    batch requests matching the template
+     * @return a reference to this {@code AbstractQueryBuilder} object to fulfill the "Builder" pattern.
+     */
+    protected ExecuteBatchQuery requests(ExecuteTemplate template, AbstractQueryBuilder<?, ?>... value) {
+        this.requests = value;
+        return unsafeParam("code", template.render(value));
+    }
+
+    /**
+     * Execute batch and decode response of each request separately
+     *
+     * @return responses and errors of batch requests
+     * @throws ApiException    if execute request itself failed
+     * @throws ClientException if request failed
+     */
+    public BatchResult executeAsBatch() throws ApiException, ClientException {
+        return execute(this::parseBatch);
+    }
+
+    /**
+     * Execute batch without blocking the caller and decode response of each request separately
+     *
+     * @return future completed with responses and errors of batch requests
+     */
+    public CompletableFuture<BatchResult> executeAsBatchAsync() {
+        return executeAsync(this::parseBatch);
+    }
+
+    private BatchResult parseBatch(ClientResponse response) throws ApiException, ClientException {
+        JsonObject json;
+        try {
+            json = (JsonObject) new JsonParser().parse(new JsonReader(response.getContentReader()));
+        } catch (JsonParseException | ClassCastException e) {
+            LOG.error("Invalid JSON: " + response.getContent(), e);
+            throw new ClientException("Can't parse json response");
+        }
+
+        if (json.has("error")) {
+            throw parseError(getGson().fromJson(json.get("error"), Error.class));
+        }
+
+        JsonElement items = json.get("response");
+        if (items == null || !items.isJsonArray() || items.getAsJsonArray().size() != requests.length) {
+            LOG.error("Invalid execute batch response: " + response.getContent());
+            throw new ClientException("Can't parse json response");
+        }
+
+        List<JsonObject> executeErrors = new LinkedList<>();
+        if (json.has("execute_errors") && json.get("execute_errors").isJsonArray()) {
+            for (JsonElement error : json.getAsJsonArray("execute_errors")) {
+                if (error.isJsonObject()) {
+                    executeErrors.add(error.getAsJsonObject());
+                }
             }
+        }
 
-            builder.append(")");
+        JsonArray array = items.getAsJsonArray();
+        Object[] responses = new Object[requests.length];
+        Exception[] errors = new Exception[requests.length];
+        for (int i = 0; i < requests.length; i++) {
+            JsonElement item = array.get(i);
+            if (isFalse(item)) {
+                JsonObject error = takeError(executeErrors, requests[i].getMethod());
+                if (error != null) {
+                    errors[i] = ExceptionMapper.parseException(getGson().fromJson(error, Error.class));
+                    continue;
+                }
+            }
 
-            if (requestIndex < (value.length - 1)) {
-                builder.append(",");
+            try {
+                responses[i] = getGson().fromJson(item, requests[i].getResponseClass());
+            } catch (JsonParseException e) {
+                LOG.error("Invalid JSON: " + item, e);
+                errors[i] = new ClientException("Can't parse json response");
             }
+        }
+
+        return new BatchResult(Arrays.asList(requests), responses, errors);
+    }
 
-            requestIndex++;
+    private static boolean isFalse(JsonElement item) {
+        if (!item.isJsonPrimitive()) {
+            return false;
+        }
+
+        JsonPrimitive primitive = item.getAsJsonPrimitive();
+        return primitive.isBoolean() && !primitive.getAsBoolean();
+    }
+
+    /**
+     * Take the first unmatched execute error of the method. Failed calls report errors in call order.
+     */
+    private static JsonObject takeError(List<JsonObject> executeErrors, String method) {
+        Iterator<JsonObject> iterator = executeErrors.iterator();
+        while (iterator.hasNext()) {
+            JsonObject error = iterator.next();
+            JsonElement errorMethod = error.get("method");
+            if (errorMethod != null && errorMethod.isJsonPrimitive() && method.equals(errorMethod.getAsString())) {
+                iterator.remove();
+                return error;
+            }
         }
 
-        builder.append("];");
-        return unsafeParam("code", builder.toString());
+        return null;
     }
 
     @Override
@@ -0,0 +1,218 @@
+package com.vk.api.sdk.queries.execute;
+
+import com.vk.api.sdk.client.AbstractQueryBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Precompiled VKScript code of execute batch. Methods and parameter names are compiled once,
+ * rendering only escapes parameter values into a buffer of known size. Template can be reused
+ * for batches with the same methods and parameter names.
+ */
+public class ExecuteTemplate {
+
+    /**
+     * Default limit of VKScript code length
+     */
+    public static final int DEFAULT_MAX_CODE_LENGTH = 65536;
+
+    private static final String ACCESS_TOKEN_PARAM = "access_token";
+
+    private static final String VERSION_PARAM = "v";
+
+    private final String[] methods;
+
+    private final String[][] keys;
+
+    /**
+     * Code between parameter values, the last one follows the last value
+     */
+    private final String[] literals;
+
+    private final int literalsLength;
+
+    private final int maxCodeLength;
+
+    private ExecuteTemplate(String[] methods, String[][] keys, String[] literals, int maxCodeLength) {
+        this.methods = methods;
+        this.keys = keys;
+        this.literals = literals;
+        this.maxCodeLength = maxCodeLength;
+
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+
+        this.literalsLength = length;
+    }
+
+    /**
+     * Compile template for batches of the same methods with the same parameter names
+     *
+     * @param requests sample requests
+     * @return template
+     */
+    public static ExecuteTemplate compile(AbstractQueryBuilder<?, ?>... requests) {
+        return compile(DEFAULT_MAX_CODE_LENGTH, requests);
+    }
+
+    /**
+     * Compile template for batches of the same methods with the same parameter names
+     *
+     * @param maxCodeLength limit of rendered code length
+     * @param requests      sample requests
+     * @return template
+     */
+    public static ExecuteTemplate compile(int maxCodeLength, AbstractQueryBuilder<?, ?>... requests) {
+        String[] methods = new String[requests.length];
+        String[][] keys = new String[requests.length][];
+        List<String> literals = new ArrayList<>();
+
+        StringBuilder literal = new StringBuilder("return [");
+        for (int i = 0; i < requests.length; i++) {
+            methods[i] = requests[i].getMethod();
+
+            TreeSet<String> names = new TreeSet<>(getParams(requests[i]).keySet());
+            names.remove(ACCESS_TOKEN_PARAM);
+            names.remove(VERSION_PARAM);
+            keys[i] = names.toArray(new String[0]);
+
+            literal.append("API.").append(methods[i]).append("(");
+            if (keys[i].length > 0) {
+                literal.append("{");
+                for (int j = 0; j < keys[i].length; j++) {
+                    if (j > 0) {
+                        literal.append("\",");
+                    }
+
+                    literal.append("\"").append(keys[i][j]).append("\":\"");
+                    literals.add(literal.toString());
+                    literal.setLength(0);
+                }
+
+                literal.append("\"}");
+            }
+
+            literal.append(")");
+            if (i < requests.length - 1) {
+                literal.append(",");
+            }
+        }
+
+        literal.append("];");
+        literals.add(literal.toString());
+
+        return new ExecuteTemplate(methods, keys, literals.toArray(new String[0]), maxCodeLength);
+    }
+
+    /**
+     * Render VKScript code of the batch
+     *
+     * @param requests requests with the same methods and parameter names as the template
+     * @return VKScript code
+     * @throws IllegalArgumentException if requests don't match the template or code exceeds the length limit
+     */
+    public String render(AbstractQueryBuilder<?, ?>... requests) {
+        if (requests.length != methods.length) {
+            throw new IllegalArgumentException("Template expects " + methods.length + " requests, got " + requests.length);
+        }
+
+        String[][] values = new String[requests.length][];
+        int valuesLength = 0;
+        for (int i = 0; i < requests.length; i++) {
+            if (!methods[i].equals(requests[i].getMethod())) {
+                throw new IllegalArgumentException("Template expects " + methods[i] + " request, got " + requests[i].getMethod());
+            }
+
+            Map<String, String> params = getParams(requests[i]);
+            int size = params.size();
+            if (params.containsKey(ACCESS_TOKEN_PARAM)) {
+                size--;
+            }
+
+            if (params.containsKey(VERSION_PARAM)) {
+                size--;
+            }
+
+            if (size != keys[i].length) {
+                throw new IllegalArgumentException("Parameters of " + methods[i] + " request don't match template");
+            }
+
+            values[i] = new String[keys[i].length];
+            for (int j = 0; j < keys[i].length; j++) {
+                String value = params.get(keys[i][j]);
+                if (value == null && !params.containsKey(keys[i][j])) {
+                    throw new IllegalArgumentException("Parameters of " + methods[i] + " request don't match template");
+                }
+
+                values[i][j] = value;
+                valuesLength += value != null ? value.length() : 4;
+            }
+        }
+
+        if (literalsLength + valuesLength > maxCodeLength) {
+            throw new IllegalArgumentException("VKScript code is longer than " + maxCodeLength + " characters");
+        }
+
+        StringBuilder builder = new StringBuilder(literalsLength + valuesLength + valuesLength / 8 + 16);
+        int literal = 0;
+        for (String[] requestValues : values) {
+            for (String value : requestValues) {
+                builder.append(literals[literal++]);
+                escape(builder, value);
+            }
+        }
+
+        builder.append(literals[literal]);
+
+        if (builder.length() > maxCodeLength) {
+            throw new IllegalArgumentException("VKScript code is longer than " + maxCodeLength + " characters");
+        }
+
+        return builder.toString();
+    }
+
+    /**
+     * Append value escaped for VKScript string literal
+     */
+    private static void escape(StringBuilder builder, String value) {
+        if (value == null) {
+            builder.append("null");
+            return;
+        }
+
+        int start = 0;
+        for (int i = 0; i < value.length(); i++) {
+            String replacement;
+            switch (value.charAt(i)) {
+                case '"':
+                    replacement = "\\\"";
+                    break;
+                case '\\':
+                    replacement = "\\\\";
+                    break;
+                case '\n':
+                    replacement = "\\n";
+                    break;
+                case '\r':
+                    replacement = "\\r";
+                    break;
+                default:
+                    continue;
+            }
+
+            builder.append(value, start, i).append(replacement);
+            start = i + 1;
+        }
+
+        builder.append(value, start, value.length());
+    }
+
+    private static Map<String, String> getParams(AbstractQueryBuilder<?, ?> request) {
+        return request.build();
+    }
+}
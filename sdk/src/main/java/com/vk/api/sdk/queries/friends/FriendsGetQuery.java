@@ -4,12 +4,16 @@ import com.vk.api.sdk.client.AbstractQueryBuilder;
 import com.vk.api.sdk.client.VkApiClient;
 import com.vk.api.sdk.client.actors.ServiceActor;
 import com.vk.api.sdk.client.actors.UserActor;
+import com.vk.api.sdk.exceptions.ApiException;
+import com.vk.api.sdk.exceptions.ClientException;
+import com.vk.api.sdk.objects.base.responses.IntListResponse;
 import com.vk.api.sdk.objects.enums.FriendsNameCase;
 import com.vk.api.sdk.objects.enums.FriendsOrder;
 import com.vk.api.sdk.objects.friends.responses.GetResponse;
 import com.vk.api.sdk.objects.users.Fields;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Query for Friends.get method
@@ -129,6 +133,26 @@ public class FriendsGetQuery extends AbstractQueryBuilder<FriendsGetQuery, GetRe
         return unsafeParam("fields", value);
     }
 
+    /**
+     * Execute request and decode ids of friends to a list of primitive ints
+     *
+     * @return response with total count and ids of friends
+     * @throws ApiException    if API returned an error
+     * @throws ClientException if request failed
+     */
+    public IntListResponse executeAsIntList() throws ApiException, ClientException {
+        return execute(response -> parseResponse(response, IntListResponse.class));
+    }
+
+    /**
+     * Execute request without blocking the caller and decode ids of friends to a list of primitive ints
+     *
+     * @return future completed with response with total count and ids of friends
+     */
+    public CompletableFuture<IntListResponse> executeAsIntListAsync() {
+        return executeAsync(response -> parseResponse(response, IntListResponse.class));
+    }
+
     @Override
     protected FriendsGetQuery getThis() {
         return this;
@@ -4,12 +4,16 @@ import com.vk.api.sdk.client.AbstractQueryBuilder;
 import com.vk.api.sdk.client.VkApiClient;
 import com.vk.api.sdk.client.actors.ServiceActor;
 import com.vk.api.sdk.client.actors.UserActor;
+import com.vk.api.sdk.exceptions.ApiException;
+import com.vk.api.sdk.exceptions.ClientException;
+import com.vk.api.sdk.objects.base.responses.IntListResponse;
 import com.vk.api.sdk.objects.enums.LikesFilter;
 import com.vk.api.sdk.objects.enums.LikesFriendsOnly;
 import com.vk.api.sdk.objects.likes.Type;
 import com.vk.api.sdk.objects.likes.responses.GetListResponse;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Query for Likes.getList method
@@ -142,6 +146,26 @@ public class LikesGetListQuery extends AbstractQueryBuilder<LikesGetListQuery, G
         return unsafeParam("skip_own", value);
     }
 
+    /**
+     * Execute request and decode ids of users to a list of primitive ints
+     *
+     * @return response with total count and ids of users
+     * @throws ApiException    if API returned an error
+     * @throws ClientException if request failed
+     */
+    public IntListResponse executeAsIntList() throws ApiException, ClientException {
+        return execute(response -> parseResponse(response, IntListResponse.class));
+    }
+
+    /**
+     * Execute request without blocking the caller and decode ids of users to a list of primitive ints
+     *
+     * @return future completed with response with total count and ids of users
+     */
+    public CompletableFuture<IntListResponse> executeAsIntListAsync() {
+        return executeAsync(response -> parseResponse(response, IntListResponse.class));
+    }
+
     @Override
     protected LikesGetListQuery getThis() {
         return this;
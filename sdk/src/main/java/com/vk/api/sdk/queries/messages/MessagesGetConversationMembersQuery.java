@@ -4,10 +4,14 @@ import com.vk.api.sdk.client.AbstractQueryBuilder;
 import com.vk.api.sdk.client.VkApiClient;
 import com.vk.api.sdk.client.actors.GroupActor;
 import com.vk.api.sdk.client.actors.UserActor;
+import com.vk.api.sdk.exceptions.ApiException;
+import com.vk.api.sdk.exceptions.ClientException;
+import com.vk.api.sdk.objects.base.responses.IntListResponse;
 import com.vk.api.sdk.objects.messages.responses.GetConversationMembersResponse;
 import com.vk.api.sdk.objects.users.Fields;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Query for Messages.getConversationMembers method
@@ -81,6 +85,26 @@ public class MessagesGetConversationMembersQuery extends AbstractQueryBuilder<Me
         return unsafeParam("fields", value);
     }
 
+    /**
+     * Execute request and decode ids of members to a list of primitive ints
+     *
+     * @return response with total count and ids of members
+     * @throws ApiException    if API returned an error
+     * @throws ClientException if request failed
+     */
+    public IntListResponse executeAsIntList() throws ApiException, ClientException {
+        return execute(response -> parseResponse(response, IntListResponse.class));
+    }
+
+    /**
+     * Execute request without blocking the caller and decode ids of members to a list of primitive ints
+     *
+     * @return future completed with response with total count and ids of members
+     */
+    public CompletableFuture<IntListResponse> executeAsIntListAsync() {
+        return executeAsync(response -> parseResponse(response, IntListResponse.class));
+    }
+
     @Override
     protected MessagesGetConversationMembersQuery getThis() {
         return this;
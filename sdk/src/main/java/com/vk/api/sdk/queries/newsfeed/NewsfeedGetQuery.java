@@ -3,11 +3,15 @@ package com.vk.api.sdk.queries.newsfeed;
 import com.vk.api.sdk.client.AbstractQueryBuilder;
 import com.vk.api.sdk.client.VkApiClient;
 import com.vk.api.sdk.client.actors.UserActor;
+import com.vk.api.sdk.exceptions.ApiException;
+import com.vk.api.sdk.exceptions.ClientException;
 import com.vk.api.sdk.objects.base.UserGroupFields;
 import com.vk.api.sdk.objects.newsfeed.Filters;
 import com.vk.api.sdk.objects.newsfeed.responses.GetResponse;
+import com.vk.api.sdk.objects.newsfeed.responses.GetTypedResponse;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Query for Newsfeed.get method
@@ -146,6 +150,28 @@ public class NewsfeedGetQuery extends AbstractQueryBuilder<NewsfeedGetQuery, Get
         return unsafeParam("fields", value);
     }
 
+    /**
+     * Execute request and decode each news item to the subclass of {@link com.vk.api.sdk.objects.newsfeed.ItemBase}
+     * matching its type
+     *
+     * @return response with typed items
+     * @throws ApiException    if API returned an error
+     * @throws ClientException if request failed
+     */
+    public GetTypedResponse executeTyped() throws ApiException, ClientException {
+        return execute(response -> parseResponse(response, GetTypedResponse.class));
+    }
+
+    /**
+     * Execute request without blocking the caller and decode each news item to the subclass
+     * of {@link com.vk.api.sdk.objects.newsfeed.ItemBase} matching its type
+     *
+     * @return future completed with response with typed items
+     */
+    public CompletableFuture<GetTypedResponse> executeTypedAsync() {
+        return executeAsync(response -> parseResponse(response, GetTypedResponse.class));
+    }
+
     @Override
     protected NewsfeedGetQuery getThis() {
         return this;
@@ -5,6 +5,7 @@ import com.google.gson.JsonParser;
 import com.google.gson.JsonSyntaxException;
 import com.google.gson.stream.JsonReader;
 import com.vk.api.sdk.client.AbstractQueryBuilder;
+import com.vk.api.sdk.client.ClientResponse;
 import com.vk.api.sdk.client.VkApiClient;
 import com.vk.api.sdk.exceptions.ApiException;
 import com.vk.api.sdk.exceptions.ClientException;
@@ -14,7 +15,6 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 
-import java.io.StringReader;
 import java.lang.reflect.Type;
 
 /**
@@ -29,9 +29,8 @@ public abstract class OAuthQueryBuilder<T, R> extends AbstractQueryBuilder<T, R>
     }
 
     @Override
-    public R execute() throws ApiException, ClientException {
-        String textResponse = executeAsString();
-        JsonReader jsonReader = new JsonReader(new StringReader(textResponse));
+    protected R parseResponse(ClientResponse response) throws ApiException, ClientException {
+        JsonReader jsonReader = new JsonReader(response.getContentReader());
         JsonObject json = (JsonObject) new JsonParser().parse(jsonReader);
 
         if (json.has("error")) {
@@ -39,7 +38,7 @@ public abstract class OAuthQueryBuilder<T, R> extends AbstractQueryBuilder<T, R>
             try {
                 error = getGson().fromJson(json, Error.class);
             } catch (JsonSyntaxException e) {
-                LOG.error("Invalid JSON: " + textResponse, e);
+                LOG.error("Invalid JSON: " + response.getContent(), e);
                 throw new ClientException("Can't parse json response");
             }
 
@@ -51,7 +50,7 @@ public abstract class OAuthQueryBuilder<T, R> extends AbstractQueryBuilder<T, R>
         try {
             return getGson().fromJson(json, getResponseClass());
         } catch (JsonSyntaxException e) {
-            LOG.error("Invalid JSON: " + textResponse, e);
+            LOG.error("Invalid JSON: " + response.getContent(), e);
             throw new ClientException("Can't parse json response");
         }
     }
@@ -5,6 +5,7 @@ import com.google.gson.JsonParser;
 import com.google.gson.JsonSyntaxException;
 import com.google.gson.stream.JsonReader;
 import com.vk.api.sdk.client.ApiRequest;
+import com.vk.api.sdk.client.AsyncTransportClient;
 import com.vk.api.sdk.client.ClientResponse;
 import com.vk.api.sdk.client.VkApiClient;
 import com.vk.api.sdk.exceptions.ApiException;
@@ -16,8 +17,8 @@ import org.apache.logging.log4j.Logger;
 
 import java.io.File;
 import java.io.IOException;
-import java.io.StringReader;
 import java.lang.reflect.Type;
+import java.util.concurrent.CompletableFuture;
 
 public abstract class UploadQueryBuilder<T, R> extends ApiRequest<R> {
 
@@ -41,12 +42,16 @@ public abstract class UploadQueryBuilder<T, R> extends ApiRequest<R> {
 
     @Override
     public R execute() throws ApiException, ClientException {
-        String textResponse = executeAsString();
-        JsonReader jsonReader = new JsonReader(new StringReader(textResponse));
+        return executeWithoutRetry();
+    }
+
+    @Override
+    protected R parseResponse(ClientResponse response) throws ApiException, ClientException {
+        JsonReader jsonReader = new JsonReader(response.getContentReader());
         JsonObject json = (JsonObject) new JsonParser().parse(jsonReader);
 
         if (json.has("error")) {
-            UploadException uploadException = new UploadException(0, textResponse, "");
+            UploadException uploadException = new UploadException(0, response.getContent(), "");
             LOG.error("API error", uploadException);
             throw uploadException;
         }
@@ -54,31 +59,40 @@ public abstract class UploadQueryBuilder<T, R> extends ApiRequest<R> {
         try {
             return getGson().fromJson(json, getResponseClass());
         } catch (JsonSyntaxException e) {
-            LOG.error("Invalid JSON: " + textResponse, e);
+            LOG.error("Invalid JSON: " + response.getContent(), e);
             throw new ClientException("Can't parse json response");
         }
     }
 
     @Override
-    public String executeAsString() throws ClientException {
-        ClientResponse response;
+    public ClientResponse executeAsRaw() throws ClientException {
         try {
             if (file != null) {
-                response = getClient().post(getUrl(), filename, file);
-            } else {
-                response = getClient().post(getUrl());
+                return getClient().post(getUrl(), filename, file);
             }
+
+            return getClient().post(getUrl());
         } catch (IOException e) {
             LOG.error("Problems with request: " + getUrl(), e);
             throw new ClientException("I/O exception");
         }
+    }
+
+    @Override
+    protected CompletableFuture<ClientResponse> executeAsRawAsync(AsyncTransportClient asyncClient) {
+        if (file != null) {
+            return asyncClient.postAsync(getUrl(), filename, file);
+        }
+
+        return asyncClient.postAsync(getUrl());
+    }
 
+    @Override
+    protected void checkResponse(ClientResponse response) throws ClientException {
         if (response.getStatusCode() != 200) {
             LOG.error("Invalid HTTP status " + response.getStatusCode() + " from " + getUrl());
             throw new ClientException("Internal API server error");
         }
-
-        return response.getContent();
     }
 
     @Override
@@ -4,11 +4,15 @@ import com.vk.api.sdk.client.AbstractQueryBuilder;
 import com.vk.api.sdk.client.VkApiClient;
 import com.vk.api.sdk.client.actors.ServiceActor;
 import com.vk.api.sdk.client.actors.UserActor;
+import com.vk.api.sdk.exceptions.ApiException;
+import com.vk.api.sdk.exceptions.ClientException;
+import com.vk.api.sdk.objects.base.responses.IntListResponse;
 import com.vk.api.sdk.objects.enums.UsersNameCase;
 import com.vk.api.sdk.objects.users.Fields;
 import com.vk.api.sdk.objects.users.responses.GetFollowersResponse;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Query for Users.getFollowers method
@@ -98,6 +102,26 @@ public class UsersGetFollowersQuery extends AbstractQueryBuilder<UsersGetFollowe
         return unsafeParam("fields", value);
     }
 
+    /**
+     * Execute request and decode ids of followers to a list of primitive ints
+     *
+     * @return response with total count and ids of followers
+     * @throws ApiException    if API returned an error
+     * @throws ClientException if request failed
+     */
+    public IntListResponse executeAsIntList() throws ApiException, ClientException {
+        return execute(response -> parseResponse(response, IntListResponse.class));
+    }
+
+    /**
+     * Execute request without blocking the caller and decode ids of followers to a list of primitive ints
+     *
+     * @return future completed with response with total count and ids of followers
+     */
+    public CompletableFuture<IntListResponse> executeAsIntListAsync() {
+        return executeAsync(response -> parseResponse(response, IntListResponse.class));
+    }
+
     @Override
     protected UsersGetFollowersQuery getThis() {
         return this;
@@ -1,18 +1,37 @@
 package com.vk.api.sdk.streaming.actions;
 
+import com.vk.api.sdk.client.RateLimiter;
+import com.vk.api.sdk.client.TokenBucketRateLimiter;
 import com.vk.api.sdk.streaming.clients.VkStreamingApiClient;
 import com.vk.api.sdk.streaming.clients.actors.StreamingActor;
 import com.vk.api.sdk.streaming.exceptions.StreamingApiException;
 import com.vk.api.sdk.streaming.exceptions.StreamingClientException;
+import com.vk.api.sdk.streaming.objects.StreamingRule;
+import com.vk.api.sdk.streaming.objects.StreamingRulesSyncReport;
+import com.vk.api.sdk.streaming.objects.responses.StreamingGetRulesResponse;
 import com.vk.api.sdk.streaming.queries.rules.StreamingAddRuleQuery;
 import com.vk.api.sdk.streaming.queries.rules.StreamingDeleteRuleQuery;
 import com.vk.api.sdk.streaming.queries.rules.StreamingGetRulesQuery;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
 /**
  * Streaming rules action
  */
 public class StreamingRules extends StreamingAbstractAction {
 
+    private static final double DEFAULT_RULES_PER_SECOND = 10;
+
+    private static final int SYNC_THREADS = 8;
+
     public StreamingRules(VkStreamingApiClient streamingClient) {
         super(streamingClient);
     }
@@ -28,4 +47,117 @@ public class StreamingRules extends StreamingAbstractAction {
     public StreamingDeleteRuleQuery delete(StreamingActor actor, String tag) throws StreamingClientException, StreamingApiException {
         return new StreamingDeleteRuleQuery(getClient(), actor, tag);
     }
+
+    /**
+     * Make rules equal to the desired ones with rules per second limit of 10
+     *
+     * @see #sync(StreamingActor, Map, double)
+     */
+    public StreamingRulesSyncReport sync(StreamingActor actor, Map<String, String> desired) throws StreamingClientException, StreamingApiException, InterruptedException {
+        return sync(actor, desired, DEFAULT_RULES_PER_SECOND);
+    }
+
+    /**
+     * Make rules equal to the desired ones. Current rules are fetched once, then rules missing from the desired ones
+     * are deleted, and after the deletes new rules are added and rules with another value are deleted and added again.
+     * Changes are applied concurrently, failures of single rules are collected to the report.
+     *
+     * @param actor             streaming actor
+     * @param desired           values of rules by tag
+     * @param requestsPerSecond maximum number of add and delete requests per second
+     * @return report of changed rules
+     * @throws IllegalArgumentException if a tag or a value of the desired rules is null
+     * @throws InterruptedException     if interrupted while waiting for changes
+     */
+    public StreamingRulesSyncReport sync(StreamingActor actor, Map<String, String> desired, double requestsPerSecond)
+            throws StreamingClientException, StreamingApiException, InterruptedException {
+        for (Map.Entry<String, String> rule : desired.entrySet()) {
+            if (rule.getKey() == null || rule.getValue() == null) {
+                throw new IllegalArgumentException("Tag and value of rule must not be null, got tag " + rule.getKey());
+            }
+        }
+
+        StreamingGetRulesResponse response = get(actor).execute();
+        Map<String, String> current = new HashMap<>();
+        if (response.getRules() != null) {
+            for (StreamingRule rule : response.getRules()) {
+                current.put(rule.getTag(), rule.getValue());
+            }
+        }
+
+        RateLimiter rateLimiter = new TokenBucketRateLimiter().setLimit(actor.getKey(), requestsPerSecond);
+        Map<String, Future<Void>> deletes = new LinkedHashMap<>();
+        Map<String, Future<Void>> replaces = new LinkedHashMap<>();
+        Map<String, Future<Void>> adds = new LinkedHashMap<>();
+        List<String> unchanged = new ArrayList<>();
+        Map<String, Exception> failed = new LinkedHashMap<>();
+
+        ExecutorService executor = Executors.newFixedThreadPool(SYNC_THREADS, runnable -> {
+            Thread thread = new Thread(runnable, "Streaming rules sync");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        try {
+            // Deletes are completed first to free room for new rules
+            for (String tag : current.keySet()) {
+                if (!desired.containsKey(tag)) {
+                    deletes.put(tag, executor.submit(() -> change(actor, rateLimiter, tag, true, null)));
+                }
+            }
+
+            List<String> deleted = await(deletes, failed);
+
+            for (Map.Entry<String, String> rule : desired.entrySet()) {
+                String tag = rule.getKey();
+                String value = current.get(tag);
+                if (value == null) {
+                    adds.put(tag, executor.submit(() -> change(actor, rateLimiter, tag, false, rule.getValue())));
+                } else if (value.equals(rule.getValue())) {
+                    unchanged.add(tag);
+                } else {
+                    replaces.put(tag, executor.submit(() -> change(actor, rateLimiter, tag, true, rule.getValue())));
+                }
+            }
+
+            return new StreamingRulesSyncReport(await(adds, failed), deleted, await(replaces, failed), unchanged, failed);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Void change(StreamingActor actor, RateLimiter rateLimiter, String tag, boolean delete, String value)
+            throws StreamingClientException, StreamingApiException, InterruptedException {
+        if (delete) {
+            rateLimiter.acquire(actor.getKey());
+            delete(actor, tag).execute();
+        }
+
+        if (value != null) {
+            rateLimiter.acquire(actor.getKey());
+            add(actor, tag, value).execute();
+        }
+
+        return null;
+    }
+
+    /**
+     * Wait for changes of rules
+     *
+     * @return tags of changed rules
+     */
+    private static List<String> await(Map<String, Future<Void>> changes, Map<String, Exception> failed) throws InterruptedException {
+        List<String> succeeded = new ArrayList<>();
+        for (Map.Entry<String, Future<Void>> change : changes.entrySet()) {
+            try {
+                change.getValue().get();
+                succeeded.add(change.getKey());
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                failed.put(change.getKey(), cause instanceof Exception ? (Exception) cause : e);
+            }
+        }
+
+        return succeeded;
+    }
 }
@@ -1,9 +1,12 @@
 package com.vk.api.sdk.streaming.actions;
 
 import com.vk.api.sdk.streaming.clients.StreamingEventHandler;
+import com.vk.api.sdk.streaming.clients.StreamingStreamSupervisor;
 import com.vk.api.sdk.streaming.clients.VkStreamingApiClient;
 import com.vk.api.sdk.streaming.clients.actors.StreamingActor;
+import com.vk.api.sdk.streaming.clients.websocket.WSMessageListener;
 import com.vk.api.sdk.streaming.queries.stream.StreamingStreamQuery;
+import org.asynchttpclient.ws.WebSocketListener;
 
 import java.util.concurrent.ExecutionException;
 
@@ -19,4 +22,23 @@ public class StreamingStream extends StreamingAbstractAction {
     public StreamingStreamQuery get(StreamingActor actor, StreamingEventHandler handler) throws ExecutionException, InterruptedException {
         return new StreamingStreamQuery(getClient(), actor, handler);
     }
+
+    public StreamingStreamQuery get(StreamingActor actor, WebSocketListener listener) {
+        return new StreamingStreamQuery(getClient(), actor, listener);
+    }
+
+    /**
+     * Create stream reconnecting on failures, call {@link StreamingStreamSupervisor#start()} to open it
+     *
+     * @param actor   streaming actor
+     * @param handler handler of messages
+     * @return stream supervisor
+     */
+    public StreamingStreamSupervisor supervised(StreamingActor actor, StreamingEventHandler handler) {
+        return supervised(actor, new WSMessageListener(getClient().getGson(), handler));
+    }
+
+    public StreamingStreamSupervisor supervised(StreamingActor actor, WebSocketListener listener) {
+        return new StreamingStreamSupervisor(getClient(), actor, listener);
+    }
 }
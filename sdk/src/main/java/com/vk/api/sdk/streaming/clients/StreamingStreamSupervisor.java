@@ -0,0 +1,304 @@
+package com.vk.api.sdk.streaming.clients;
+
+import com.vk.api.sdk.streaming.clients.actors.StreamingActor;
+import com.vk.api.sdk.streaming.clients.websocket.WSPingListener;
+import com.vk.api.sdk.streaming.objects.StreamingCallbackMessage;
+import com.vk.api.sdk.streaming.queries.stream.StreamingStreamQuery;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.util.concurrent.Future;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.asynchttpclient.ws.WebSocket;
+import org.asynchttpclient.ws.WebSocketListener;
+
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Keeps the stream connected. Lost connections are reopened with exponential backoff and jitter, connections
+ * without pings for too long are considered lost. When the server announces closing of the connection
+ * with a service message, the next connection is opened before the current one is closed.
+ */
+public class StreamingStreamSupervisor implements Closeable {
+
+    private static final Logger LOG = LogManager.getLogger(StreamingStreamSupervisor.class);
+
+    private static final int SERVICE_MESSAGE_CODE = 300;
+
+    private static final ScheduledExecutorService SCHEDULER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "Streaming supervisor");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Time for the server to answer the close frame of a stale connection before the connection is closed
+     */
+    private static final long CLOSE_TIMEOUT_MS = 5000;
+
+    private final VkStreamingApiClient client;
+
+    private final StreamingActor actor;
+
+    private final WebSocketListener listener;
+
+    private Duration initialBackoff = Duration.ofSeconds(1);
+
+    private Duration maxBackoff = Duration.ofMinutes(1);
+
+    private Duration pingTimeout = Duration.ofMinutes(1);
+
+    private volatile boolean closed;
+
+    private volatile Connection current;
+
+    private int attempt;
+
+    private ScheduledFuture<?> watchdog;
+
+    /**
+     * @param client   streaming client
+     * @param actor    streaming actor
+     * @param listener listener of messages of all connections
+     */
+    public StreamingStreamSupervisor(VkStreamingApiClient client, StreamingActor actor, WebSocketListener listener) {
+        this.client = client;
+        this.actor = actor;
+        this.listener = listener;
+    }
+
+    /**
+     * Set delay before the first reconnection attempt, doubled on each following attempt up to the maximum
+     *
+     * @param initialBackoff delay, 1 second by default
+     * @param maxBackoff     maximum delay, 1 minute by default
+     * @return a reference to this {@code StreamingStreamSupervisor} object
+     */
+    public StreamingStreamSupervisor backoff(Duration initialBackoff, Duration maxBackoff) {
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        return this;
+    }
+
+    /**
+     * Set time without pings after which the connection is reopened
+     *
+     * @param pingTimeout timeout, 1 minute by default
+     * @return a reference to this {@code StreamingStreamSupervisor} object
+     */
+    public StreamingStreamSupervisor pingTimeout(Duration pingTimeout) {
+        this.pingTimeout = pingTimeout;
+        return this;
+    }
+
+    public synchronized void start() {
+        if (watchdog != null) {
+            throw new IllegalStateException("Stream is already started");
+        }
+
+        long period = Math.max(1, pingTimeout.toMillis() / 2);
+        watchdog = SCHEDULER.scheduleAtFixedRate(this::checkConnection, period, period, TimeUnit.MILLISECONDS);
+        connect();
+    }
+
+    @Override
+    public synchronized void close() {
+        closed = true;
+        if (watchdog != null) {
+            watchdog.cancel(false);
+        }
+
+        Connection connection = current;
+        if (connection != null) {
+            connection.close();
+        }
+    }
+
+    private void connect() {
+        if (closed) {
+            return;
+        }
+
+        Connection connection = new Connection();
+        new StreamingStreamQuery(client, actor, listener).executeAsync(connection).whenComplete((webSocket, e) -> {
+            if (e != null) {
+                LOG.warn("Can't open stream", e);
+                reconnectLater();
+            }
+        });
+    }
+
+    private synchronized void reconnectLater() {
+        if (closed) {
+            return;
+        }
+
+        long initial = initialBackoff.toMillis();
+        long delay = Math.min(maxBackoff.toMillis(), initial << Math.min(attempt, 30));
+        if (delay < 0) {
+            delay = maxBackoff.toMillis();
+        }
+
+        attempt++;
+        long jittered = delay / 2 + ThreadLocalRandom.current().nextLong(delay / 2 + 1);
+        LOG.info("Reconnecting stream in " + jittered + " ms");
+        SCHEDULER.schedule(this::connect, jittered, TimeUnit.MILLISECONDS);
+    }
+
+    private void checkConnection() {
+        Connection connection = current;
+        if (connection == null || connection.replaced || connection.finished.get()) {
+            return;
+        }
+
+        long idle = System.nanoTime() - Math.max(connection.getLastPingTime(), connection.lastMessageTime);
+        if (idle > pingTimeout.toNanos()) {
+            LOG.warn("No pings from stream for " + TimeUnit.NANOSECONDS.toMillis(idle) + " ms, reconnecting");
+            connection.forceClose();
+            connection.lost();
+        }
+    }
+
+    private synchronized void opened(Connection connection) {
+        if (closed) {
+            connection.close();
+            return;
+        }
+
+        Connection previous = current;
+        current = connection;
+        if (previous != null && previous.replaced) {
+            previous.close();
+        }
+    }
+
+    /**
+     * Reset the backoff once the connection got a ping or a message, so a server which closes connections
+     * right after opening is not reconnected to without delay
+     */
+    private synchronized void healthy(Connection connection) {
+        if (connection == current) {
+            attempt = 0;
+        }
+    }
+
+    /**
+     * Listener of a single connection, answers pings and watches for service messages and closing
+     */
+    private final class Connection extends WSPingListener {
+
+        private final AtomicBoolean finished = new AtomicBoolean();
+
+        private volatile WebSocket webSocket;
+
+        private volatile long lastMessageTime = System.nanoTime();
+
+        /**
+         * The next connection is being opened in place of this one
+         */
+        private volatile boolean replaced;
+
+        private volatile boolean healthy;
+
+        @Override
+        public void onOpen(WebSocket websocket) {
+            super.onOpen(websocket);
+            webSocket = websocket;
+            opened(this);
+        }
+
+        @Override
+        public void onTextFrame(String message, boolean finalFragment, int rsv) {
+            lastMessageTime = System.nanoTime();
+            markHealthy();
+
+            // Quotes inside event texts are escaped, so the key can only be found in service messages
+            if (!message.contains("\"service_message\"")) {
+                return;
+            }
+
+            StreamingCallbackMessage callbackMessage = client.getGson().fromJson(message, StreamingCallbackMessage.class);
+            if (callbackMessage.getCode() != null && callbackMessage.getCode() == SERVICE_MESSAGE_CODE) {
+                LOG.info("Stream service message: " + callbackMessage.getServiceMessage());
+                if (this == current && !replaced) {
+                    replaced = true;
+                    connect();
+                }
+            }
+        }
+
+        @Override
+        public void onPingFrame(byte[] payload) {
+            super.onPingFrame(payload);
+            markHealthy();
+        }
+
+        @Override
+        public void onClose(WebSocket websocket, int code, String reason) {
+            super.onClose(websocket, code, reason);
+            lost();
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            super.onError(t);
+            forceClose();
+            lost();
+        }
+
+        void close() {
+            WebSocket webSocket = this.webSocket;
+            if (webSocket != null && webSocket.isOpen()) {
+                webSocket.sendCloseFrame();
+            }
+        }
+
+        /**
+         * Send the close frame and close the connection if the server doesn't answer it in time. The websocket of
+         * async-http-client 2.x writes the frame to its Netty channel and returns the {@link ChannelFuture} of the write.
+         */
+        void forceClose() {
+            WebSocket webSocket = this.webSocket;
+            if (webSocket == null || !webSocket.isOpen()) {
+                return;
+            }
+
+            Future<Void> closing = webSocket.sendCloseFrame();
+            if (!(closing instanceof ChannelFuture)) {
+                LOG.warn("Can't close websocket " + webSocket + " if the server doesn't answer the close frame");
+                return;
+            }
+
+            Channel channel = ((ChannelFuture) closing).channel();
+            SCHEDULER.schedule(() -> {
+                if (channel.isOpen()) {
+                    LOG.warn("No answer to close frame of stream for " + CLOSE_TIMEOUT_MS + " ms, closing connection");
+                    channel.close();
+                }
+            }, CLOSE_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        }
+
+        private void markHealthy() {
+            if (!healthy) {
+                healthy = true;
+                healthy(this);
+            }
+        }
+
+        /**
+         * Reconnect unless the connection was replaced or closed on purpose
+         */
+        void lost() {
+            if (finished.compareAndSet(false, true) && !replaced && this == current) {
+                reconnectLater();
+            }
+        }
+    }
+}
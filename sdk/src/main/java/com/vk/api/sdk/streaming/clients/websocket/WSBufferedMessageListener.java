@@ -0,0 +1,410 @@
+package com.vk.api.sdk.streaming.clients.websocket;
+
+import com.google.gson.Gson;
+import com.vk.api.sdk.streaming.clients.StreamingEventHandler;
+import com.vk.api.sdk.streaming.objects.StreamingCallbackMessage;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.asynchttpclient.ws.WebSocket;
+import org.asynchttpclient.ws.WebSocketListener;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Listener for messages which keeps the websocket thread free: frames are put to a bounded queue
+ * and decoded and handled by worker threads. When the queue is full the overflow policy applies.
+ */
+public class WSBufferedMessageListener implements WebSocketListener, Closeable {
+
+    private static final Logger LOG = LogManager.getLogger(WSBufferedMessageListener.class);
+
+    private static final long POLL_TIMEOUT_MS = 100;
+
+    /**
+     * Action taken when a frame arrives to the full queue
+     */
+    public enum OverflowPolicy {
+        /**
+         * Wait for free space, so the websocket is not read meanwhile
+         */
+        BLOCK,
+
+        /**
+         * Drop the oldest queued frame
+         */
+        DROP_OLDEST,
+
+        /**
+         * Write frames to a temporary file until the workers catch up
+         */
+        SPILL_TO_DISK
+    }
+
+    private final Gson gson;
+
+    private final StreamingEventHandler handler;
+
+    private final OverflowPolicy overflowPolicy;
+
+    private final BlockingQueue<String> queue;
+
+    private final Spill spill;
+
+    private final Thread[] workers;
+
+    private final AtomicLong received = new AtomicLong();
+
+    private final AtomicLong dropped = new AtomicLong();
+
+    private final AtomicLong spilled = new AtomicLong();
+
+    private final AtomicLong failed = new AtomicLong();
+
+    private volatile boolean running = true;
+
+    private WSBufferedMessageListener(Builder builder) throws IOException {
+        this.gson = builder.gson;
+        this.handler = builder.handler;
+        this.overflowPolicy = builder.overflowPolicy;
+        this.queue = new ArrayBlockingQueue<>(builder.capacity);
+        this.spill = overflowPolicy == OverflowPolicy.SPILL_TO_DISK ? new Spill(builder.spillDirectory) : null;
+
+        this.workers = new Thread[builder.workers];
+        for (int i = 0; i < workers.length; i++) {
+            workers[i] = new Thread(this::work, "Streaming worker " + i);
+            workers[i].setDaemon(true);
+            workers[i].start();
+        }
+    }
+
+    public static Builder newBuilder(Gson gson, StreamingEventHandler handler) {
+        return new Builder(gson, handler);
+    }
+
+    @Override
+    public void onTextFrame(String message, boolean finalFragment, int rsv) {
+        if (!running) {
+            dropped.incrementAndGet();
+            return;
+        }
+
+        received.incrementAndGet();
+        switch (overflowPolicy) {
+            case BLOCK:
+                try {
+                    queue.put(message);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    dropped.incrementAndGet();
+                }
+                break;
+            case DROP_OLDEST:
+                while (!queue.offer(message)) {
+                    if (queue.poll() != null) {
+                        dropped.incrementAndGet();
+                    }
+                }
+                break;
+            case SPILL_TO_DISK:
+                // Once frames are spilled, the following ones are spilled too until the file is read, to keep the order
+                if (spill.size() > 0 || !queue.offer(message)) {
+                    try {
+                        spill.write(message);
+                        spilled.incrementAndGet();
+                    } catch (IOException e) {
+                        LOG.error("Can't spill streaming message", e);
+                        dropped.incrementAndGet();
+                    }
+                }
+                break;
+        }
+    }
+
+    private void work() {
+        while (running || !queue.isEmpty() || (spill != null && spill.size() > 0)) {
+            String frame;
+            try {
+                frame = queue.poll();
+                if (frame == null && spill != null) {
+                    frame = spill.read();
+                }
+
+                if (frame == null) {
+                    frame = queue.poll(POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+                }
+            } catch (InterruptedException e) {
+                return;
+            } catch (IOException e) {
+                discardSpill(e);
+                continue;
+            }
+
+            if (frame == null) {
+                continue;
+            }
+
+            try {
+                handler.handle(gson.fromJson(frame, StreamingCallbackMessage.class));
+            } catch (RuntimeException e) {
+                failed.incrementAndGet();
+                LOG.error("Streaming event handler failed: " + frame, e);
+            }
+        }
+    }
+
+    /**
+     * Drop unreadable spilled frames, otherwise workers would try to read the same record forever
+     */
+    private void discardSpill(IOException cause) {
+        int lost = spill.discard();
+        dropped.addAndGet(lost);
+        LOG.error("Can't read spilled streaming messages, " + lost + " messages dropped", cause);
+        try {
+            spill.truncate();
+        } catch (IOException e) {
+            LOG.error("Can't truncate streaming spill file", e);
+        }
+    }
+
+    /**
+     * Get number of frames waiting for workers, including spilled ones
+     *
+     * @return number of frames
+     */
+    public int getQueueSize() {
+        return queue.size() + (spill != null ? spill.size() : 0);
+    }
+
+    public long getReceivedCount() {
+        return received.get();
+    }
+
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    public long getSpilledCount() {
+        return spilled.get();
+    }
+
+    /**
+     * Get number of frames failed to be decoded or handled
+     *
+     * @return number of frames
+     */
+    public long getFailedCount() {
+        return failed.get();
+    }
+
+    @Override
+    public void onOpen(WebSocket websocket) {
+        LOG.info("Open websocket" + websocket);
+    }
+
+    @Override
+    public void onClose(WebSocket websocket, int code, String reason) {
+        LOG.info("Close websocket" + websocket);
+    }
+
+    @Override
+    public void onError(Throwable t) {
+        LOG.info("Websocket error " + t);
+    }
+
+    /**
+     * Stop accepting frames and wait until the workers handle the queued ones
+     */
+    @Override
+    public void close() throws IOException {
+        running = false;
+        try {
+            for (Thread worker : workers) {
+                worker.join();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            if (spill != null) {
+                spill.close();
+            }
+        }
+    }
+
+    /**
+     * Temporary file of length-prefixed frames read in order of writing
+     */
+    private static final class Spill implements Closeable {
+
+        private final Path path;
+
+        private final RandomAccessFile file;
+
+        private long readPosition;
+
+        private long writePosition;
+
+        private volatile int size;
+
+        Spill(Path directory) throws IOException {
+            this.path = directory != null ? Files.createTempFile(directory, "streaming", ".spill")
+                    : Files.createTempFile("streaming", ".spill");
+            this.file = new RandomAccessFile(path.toFile(), "rw");
+        }
+
+        synchronized void write(String frame) throws IOException {
+            byte[] bytes = frame.getBytes(StandardCharsets.UTF_8);
+            byte[] record = new byte[bytes.length + 4];
+            record[0] = (byte) (bytes.length >>> 24);
+            record[1] = (byte) (bytes.length >>> 16);
+            record[2] = (byte) (bytes.length >>> 8);
+            record[3] = (byte) bytes.length;
+            System.arraycopy(bytes, 0, record, 4, bytes.length);
+
+            file.seek(writePosition);
+            file.write(record);
+            writePosition += record.length;
+            size++;
+        }
+
+        synchronized String read() throws IOException {
+            if (size == 0) {
+                return null;
+            }
+
+            file.seek(readPosition);
+            int length = file.readInt();
+            if (length < 0 || length > writePosition - readPosition - 4) {
+                throw new IOException("Corrupted spill record at " + readPosition);
+            }
+
+            byte[] bytes = new byte[length];
+            file.readFully(bytes);
+            readPosition += bytes.length + 4;
+            size--;
+
+            if (size == 0) {
+                readPosition = 0;
+                writePosition = 0;
+                file.setLength(0);
+            }
+
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        int size() {
+            return size;
+        }
+
+        /**
+         * Forget all frames of the file
+         *
+         * @return number of forgotten frames
+         */
+        synchronized int discard() {
+            int lost = size;
+            size = 0;
+            readPosition = 0;
+            writePosition = 0;
+            return lost;
+        }
+
+        synchronized void truncate() throws IOException {
+            if (size == 0) {
+                file.setLength(0);
+            }
+        }
+
+        @Override
+        public synchronized void close() throws IOException {
+            file.close();
+            Files.deleteIfExists(path);
+        }
+    }
+
+    public static class Builder {
+
+        private final Gson gson;
+
+        private final StreamingEventHandler handler;
+
+        private int capacity = 10_000;
+
+        private int workers = Runtime.getRuntime().availableProcessors();
+
+        private OverflowPolicy overflowPolicy = OverflowPolicy.BLOCK;
+
+        private Path spillDirectory;
+
+        private Builder(Gson gson, StreamingEventHandler handler) {
+            this.gson = gson;
+            this.handler = handler;
+        }
+
+        /**
+         * Set maximum number of frames in the queue
+         *
+         * @param capacity capacity, 10000 by default
+         * @return a reference to this {@code Builder} object
+         * @throws IllegalArgumentException if capacity is not positive
+         */
+        public Builder capacity(int capacity) {
+            if (capacity <= 0) {
+                throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+            }
+
+            this.capacity = capacity;
+            return this;
+        }
+
+        /**
+         * Set number of threads decoding and handling frames
+         *
+         * @param workers number of threads, number of processors by default
+         * @return a reference to this {@code Builder} object
+         * @throws IllegalArgumentException if number of threads is not positive
+         */
+        public Builder workers(int workers) {
+            if (workers <= 0) {
+                throw new IllegalArgumentException("Number of workers must be positive: " + workers);
+            }
+
+            this.workers = workers;
+            return this;
+        }
+
+        /**
+         * Set action taken when the queue is full
+         *
+         * @param overflowPolicy overflow policy, {@link OverflowPolicy#BLOCK} by default
+         * @return a reference to this {@code Builder} object
+         */
+        public Builder overflowPolicy(OverflowPolicy overflowPolicy) {
+            this.overflowPolicy = overflowPolicy;
+            return this;
+        }
+
+        /**
+         * Set directory of the spill file for {@link OverflowPolicy#SPILL_TO_DISK}
+         *
+         * @param spillDirectory directory, system temporary directory by default
+         * @return a reference to this {@code Builder} object
+         */
+        public Builder spillDirectory(Path spillDirectory) {
+            this.spillDirectory = spillDirectory;
+            return this;
+        }
+
+        public WSBufferedMessageListener build() throws IOException {
+            return new WSBufferedMessageListener(this);
+        }
+    }
+}
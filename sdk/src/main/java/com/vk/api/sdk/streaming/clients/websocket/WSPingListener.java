@@ -11,10 +11,12 @@ import org.apache.logging.log4j.Logger;
 public class WSPingListener implements WebSocketListener {
 
     private WebSocket webSocket;
+    private volatile long lastPingTime = System.nanoTime();
     private static final Logger LOG = LogManager.getLogger(WSMessageListener.class);
 
     public void onOpen(WebSocket websocket) {
         webSocket = websocket;
+        lastPingTime = System.nanoTime();
     }
 
     public void onClose(WebSocket websocket) {
@@ -27,8 +29,18 @@ public class WSPingListener implements WebSocketListener {
 
     @Override
     public void onPingFrame(byte[] payload){
+        lastPingTime = System.nanoTime();
         webSocket.sendPongFrame(payload);
     }
+
+    /**
+     * Get time of the last ping, or of opening if there were no pings
+     *
+     * @return {@link System#nanoTime()} of the last ping
+     */
+    public long getLastPingTime() {
+        return lastPingTime;
+    }
     
     @Override
     public void onError(Throwable t) {
@@ -0,0 +1,91 @@
+package com.vk.api.sdk.streaming.objects;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Result of synchronization of streaming rules with the desired ones
+ */
+public class StreamingRulesSyncReport {
+
+    private final List<String> added;
+
+    private final List<String> deleted;
+
+    private final List<String> replaced;
+
+    private final List<String> unchanged;
+
+    private final Map<String, Exception> failed;
+
+    public StreamingRulesSyncReport(List<String> added, List<String> deleted, List<String> replaced, List<String> unchanged,
+                                    Map<String, Exception> failed) {
+        this.added = Collections.unmodifiableList(added);
+        this.deleted = Collections.unmodifiableList(deleted);
+        this.replaced = Collections.unmodifiableList(replaced);
+        this.unchanged = Collections.unmodifiableList(unchanged);
+        this.failed = Collections.unmodifiableMap(failed);
+    }
+
+    /**
+     * Get tags of added rules
+     *
+     * @return tags
+     */
+    public List<String> getAdded() {
+        return added;
+    }
+
+    /**
+     * Get tags of deleted rules
+     *
+     * @return tags
+     */
+    public List<String> getDeleted() {
+        return deleted;
+    }
+
+    /**
+     * Get tags of rules deleted and added again with a new value
+     *
+     * @return tags
+     */
+    public List<String> getReplaced() {
+        return replaced;
+    }
+
+    /**
+     * Get tags of rules already having the desired value
+     *
+     * @return tags
+     */
+    public List<String> getUnchanged() {
+        return unchanged;
+    }
+
+    /**
+     * Get errors of rules failed to be changed
+     *
+     * @return errors by tag
+     */
+    public Map<String, Exception> getFailed() {
+        return failed;
+    }
+
+    public boolean isSuccessful() {
+        return failed.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("StreamingRulesSyncReport{");
+        sb.append("added=").append(added);
+        sb.append(", deleted=").append(deleted);
+        sb.append(", replaced=").append(replaced);
+        sb.append(", unchanged=").append(unchanged);
+        sb.append(", failed=").append(failed);
+        sb.append('}');
+        return sb.toString();
+    }
+}
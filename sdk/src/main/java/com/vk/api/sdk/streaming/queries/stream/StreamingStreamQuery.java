@@ -1,6 +1,5 @@
 package com.vk.api.sdk.streaming.queries.stream;
 
-import com.google.gson.Gson;
 import com.vk.api.sdk.streaming.clients.StreamingEventHandler;
 import com.vk.api.sdk.streaming.clients.VkStreamingApiClient;
 import com.vk.api.sdk.streaming.clients.actors.StreamingActor;
@@ -8,8 +7,10 @@ import com.vk.api.sdk.streaming.clients.websocket.WSMessageListener;
 import com.vk.api.sdk.streaming.clients.websocket.WSPingListener;
 import org.asynchttpclient.AsyncHttpClient;
 import org.asynchttpclient.ws.WebSocket;
+import org.asynchttpclient.ws.WebSocketListener;
 import org.asynchttpclient.ws.WebSocketUpgradeHandler;
 
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 
 /**
@@ -18,25 +19,46 @@ import java.util.concurrent.ExecutionException;
 public class StreamingStreamQuery {
 
     private static final String WEB_SOCKET_SCHEMA = "wss://";
-    private StreamingEventHandler handler;
-    private Gson gson;
+    private WebSocketListener listener;
     private String url;
     private AsyncHttpClient client;
 
     public StreamingStreamQuery(VkStreamingApiClient client, StreamingActor actor, StreamingEventHandler handler) {
+        this(client, actor, new WSMessageListener(client.getGson(), handler));
+    }
+
+    /**
+     * @param client   streaming client
+     * @param actor    streaming actor
+     * @param listener listener of messages, e.g. {@link com.vk.api.sdk.streaming.clients.websocket.WSBufferedMessageListener}
+     */
+    public StreamingStreamQuery(VkStreamingApiClient client, StreamingActor actor, WebSocketListener listener) {
         this.client = client.getAsyncHttpClient();
-        this.gson = client.getGson();
         this.url = buildUrl(actor);
-        this.handler = handler;
+        this.listener = listener;
     }
 
     public WebSocket execute() throws ExecutionException, InterruptedException {
+        return executeAsync().get();
+    }
+
+    public CompletableFuture<WebSocket> executeAsync() {
+        return executeAsync(new WSPingListener());
+    }
+
+    /**
+     * Open websocket without blocking the caller
+     *
+     * @param pingListener listener answering pings of the websocket
+     * @return future completed with the opened websocket
+     */
+    public CompletableFuture<WebSocket> executeAsync(WSPingListener pingListener) {
         return client.prepareGet(url).execute(
                 new WebSocketUpgradeHandler.Builder()
-                        .addWebSocketListener(new WSMessageListener(gson, handler))
-                        .addWebSocketListener(new WSPingListener())
+                        .addWebSocketListener(listener)
+                        .addWebSocketListener(pingListener)
                         .build()
-        ).get();
+        ).toCompletableFuture().thenApply(webSocket -> webSocket);
     }
 
     private String buildUrl(StreamingActor actor) {